@@ -0,0 +1,51 @@
+package com.springboot.common.benchmarks;
+
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+
+/**
+ * A {@link SeededBackend} without the web layer, shared by every thread of a benchmark trial.
+ */
+@State(Scope.Benchmark)
+public class BackendState {
+    static final String[] AIRLINES = SeededBackend.AIRLINES;
+
+    @Param({"1000"})
+    public int flights;
+
+    @Param({"10"})
+    public int bookingsPerFlight;
+
+    private SeededBackend backend;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // Recompute on every call so the report benchmarks measure the queries, not the snapshot
+        backend = SeededBackend.start(WebApplicationType.NONE, flights, bookingsPerFlight,
+                Map.of("reports.dashboard.refresh-seconds", "0"));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        backend.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return backend.bean(type);
+    }
+
+    public long randomFlightId() {
+        return backend.randomFlightId();
+    }
+
+    public long randomCustomerId() {
+        return backend.randomCustomerId();
+    }
+}
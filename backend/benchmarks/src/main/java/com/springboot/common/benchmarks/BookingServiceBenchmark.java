@@ -0,0 +1,69 @@
+package com.springboot.common.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.springboot.common.dto.BookingDTO;
+import com.springboot.common.dto.BookingRequestDTO;
+import com.springboot.common.service.BookingService;
+
+/**
+ * {@code createBooking} end to end: the in-memory seat claim, the conditional seat UPDATE and the
+ * booking insert, at 1, 8 and 32 concurrent callers on random flights and customers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+    private static final BigDecimal PRICE = new BigDecimal("199.00");
+
+    private BackendState backend;
+    private BookingService bookings;
+
+    @Setup
+    public void setUp(BackendState backend) {
+        this.backend = backend;
+        this.bookings = backend.bean(BookingService.class);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public BookingDTO createBooking1Thread() {
+        return book();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public BookingDTO createBooking8Threads() {
+        return book();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public BookingDTO createBooking32Threads() {
+        return book();
+    }
+
+    private BookingDTO book() {
+        BookingRequestDTO req = new BookingRequestDTO();
+        req.setFlightId(backend.randomFlightId());
+        req.setCustomerId(backend.randomCustomerId());
+        req.setPrice(PRICE);
+        return bookings.createBooking(req);
+    }
+}
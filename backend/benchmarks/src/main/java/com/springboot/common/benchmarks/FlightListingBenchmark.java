@@ -0,0 +1,43 @@
+package com.springboot.common.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.springboot.common.dto.FlightDTO;
+import com.springboot.common.dto.PageDTO;
+import com.springboot.common.service.FlightService;
+import com.springboot.common.util.KeysetCursor;
+
+/**
+ * A full page of the flight listing: the keyset query plus mapping each row to a {@link FlightDTO}
+ * with its live seat count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlightListingBenchmark {
+    private FlightService flights;
+
+    @Setup
+    public void setUp(BackendState backend) {
+        flights = backend.bean(FlightService.class);
+    }
+
+    @Benchmark
+    public PageDTO<FlightDTO> listFirstPage() {
+        return flights.listFlights(null, KeysetCursor.MAX_PAGE_SIZE);
+    }
+}
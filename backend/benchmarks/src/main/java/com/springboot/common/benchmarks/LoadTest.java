@@ -0,0 +1,187 @@
+package com.springboot.common.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.WebApplicationType;
+
+/**
+ * Open-model HTTP load against a seeded backend on H2: requests are issued at a fixed rate
+ * whatever the server's response times, and each latency is measured from when the request was
+ * scheduled to go out rather than when it actually did. A stalled server therefore shows up in
+ * the percentiles instead of silently slowing the generator down (coordinated omission).
+ *
+ * Options, as {@code key=value} arguments: {@code rate} (requests per second, default 200),
+ * {@code warmup} and {@code duration} (seconds, default 10 and 60), {@code flights} and
+ * {@code bookingsPerFlight} (dataset size, default 1000 and 10).
+ */
+public final class LoadTest {
+    private static final int MAX_IN_FLIGHT = 10_000;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final SeededBackend backend;
+    private final String baseUrl;
+    private final List<Endpoint> mix;
+    private final int totalWeight;
+
+    private LoadTest(SeededBackend backend) {
+        this.backend = backend;
+        this.baseUrl = "http://localhost:" + backend.port();
+        LocalDate today = LocalDate.now();
+        this.mix = List.of(
+                new Endpoint("GET /api/flights/future-today", 35, b -> get("/api/flights/future-today")),
+                new Endpoint("GET /api/flights/{id}/availability", 35,
+                        b -> get("/api/flights/" + b.randomFlightId() + "/availability")),
+                new Endpoint("POST /api/bookings", 15, b -> HttpRequest.newBuilder(uri("/api/bookings"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"flightId\":" + b.randomFlightId()
+                                + ",\"customerId\":" + b.randomCustomerId() + ",\"price\":199.00}"))
+                        .build()),
+                new Endpoint("GET /api/reports/dashboard", 5, b -> get("/api/reports/dashboard")),
+                new Endpoint("GET /api/reports/airline-performance", 5, b -> get("/api/reports/airline-performance")),
+                new Endpoint("GET /api/reports/revenue-analysis", 5, b -> get("/api/reports/revenue-analysis?startDate="
+                        + today.minusDays(30) + "&endDate=" + today)));
+        this.totalWeight = mix.stream().mapToInt(e -> e.weight).sum();
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        int rate = option(options, "rate", 200);
+        int warmupSeconds = option(options, "warmup", 10);
+        int durationSeconds = option(options, "duration", 60);
+        int flights = option(options, "flights", 1000);
+        int bookingsPerFlight = option(options, "bookingsPerFlight", 10);
+
+        try (SeededBackend backend = SeededBackend.start(WebApplicationType.SERVLET, flights, bookingsPerFlight,
+                Map.of("server.port", "0"))) {
+            LoadTest test = new LoadTest(backend);
+            System.out.printf("Warming up for %ds at %d req/s%n", warmupSeconds, rate);
+            test.drive(rate, warmupSeconds);
+            test.mix.forEach(Endpoint::reset);
+            System.out.printf("Measuring for %ds at %d req/s%n", durationSeconds, rate);
+            test.drive(rate, durationSeconds);
+            test.report(durationSeconds);
+        }
+    }
+
+    private void drive(int rate, int seconds) {
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        for (long intended = start; intended < end; intended += interval) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(pick(), intended);
+        }
+        // Let the stragglers finish so they land in this phase's numbers
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private void send(Endpoint endpoint, long intendedStart) {
+        if (inFlight.incrementAndGet() > MAX_IN_FLIGHT) {
+            // The server is hopelessly behind; count the request as failed rather than queue it forever
+            inFlight.decrementAndGet();
+            endpoint.errors.increment();
+            return;
+        }
+        client.sendAsync(endpoint.request.apply(backend), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    endpoint.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart));
+                    if (failure != null || response.statusCode() >= 400) {
+                        endpoint.errors.increment();
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private Endpoint pick() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Endpoint endpoint : mix) {
+            roll -= endpoint.weight;
+            if (roll < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private void report(int seconds) {
+        System.out.printf("%n%-40s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Endpoint endpoint : mix) {
+            Histogram h = endpoint.latency.getIntervalHistogram();
+            System.out.printf("%-40s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.name, h.getTotalCount(), endpoint.errors.sum(), (double) h.getTotalCount() / seconds,
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(99)),
+                    millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()));
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static int option(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    private static final class Endpoint {
+        final String name;
+        final int weight;
+        final Function<SeededBackend, HttpRequest> request;
+        // Microseconds, up to an hour, three significant digits
+        final Recorder latency = new Recorder(TimeUnit.HOURS.toMicros(1), 3);
+        final LongAdder errors = new LongAdder();
+
+        Endpoint(String name, int weight, Function<SeededBackend, HttpRequest> request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+
+        void reset() {
+            latency.reset();
+            errors.reset();
+        }
+    }
+}
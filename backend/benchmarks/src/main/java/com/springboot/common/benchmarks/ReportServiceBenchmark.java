@@ -0,0 +1,66 @@
+package com.springboot.common.benchmarks;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.springboot.common.dto.ReportDTO;
+import com.springboot.common.service.ReportService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportServiceBenchmark {
+    private ReportService reports;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @Setup
+    public void setUp(BackendState backend) {
+        reports = backend.bean(ReportService.class);
+        // Bookings are all made while seeding, so a window around now covers every one
+        start = LocalDateTime.now().minusDays(1);
+        end = LocalDateTime.now().plusDays(1);
+    }
+
+    @Benchmark
+    public Map<String, Object> dashboardStats() {
+        return reports.getDashboardStats();
+    }
+
+    @Benchmark
+    public List<ReportDTO> airlinePerformance() {
+        return reports.getAirlinePerformance();
+    }
+
+    @Benchmark
+    public List<ReportDTO> revenueByAirline() {
+        return reports.revenueByAirline(BackendState.AIRLINES[0], start, end);
+    }
+
+    @Benchmark
+    public Map<String, Object> revenueAnalysis() {
+        return reports.getRevenueAnalysis(start.toLocalDate(), end.toLocalDate());
+    }
+
+    @Benchmark
+    public List<ReportDTO> bookingTrends() {
+        return reports.getBookingTrends(LocalDate.now().minusDays(30), LocalDate.now());
+    }
+}
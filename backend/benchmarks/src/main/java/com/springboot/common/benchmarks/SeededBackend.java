@@ -0,0 +1,132 @@
+package com.springboot.common.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.springboot.common.BackendApplication;
+import com.springboot.common.model.Booking;
+import com.springboot.common.model.Customer;
+import com.springboot.common.model.Flight;
+import com.springboot.common.repository.BookingRepository;
+import com.springboot.common.repository.CustomerRepository;
+import com.springboot.common.repository.FlightRepository;
+import com.springboot.common.service.BookingRollupStore;
+import com.springboot.common.service.FlightSearchIndex;
+import com.springboot.common.service.SeatInventory;
+
+/**
+ * The backend's Spring context on a fresh in-memory H2 database, seeded with {@code flights}
+ * flights, as many customers, and {@code bookingsPerFlight} bookings on each flight. The in-memory
+ * inventory, search index and rollups are reloaded after seeding, as they would be at startup.
+ */
+public final class SeededBackend implements AutoCloseable {
+    static final String[] AIRLINES = {"Air One", "Blue Sky", "Coastal", "Delta Line", "Eagle Air"};
+
+    private final ConfigurableApplicationContext context;
+    private long[] flightIds;
+    private long[] customerIds;
+
+    private SeededBackend(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Boots and seeds the backend; {@code properties} add to or override the H2 defaults.
+     */
+    public static SeededBackend start(WebApplicationType web, int flights, int bookingsPerFlight,
+            Map<String, Object> properties) {
+        Map<String, Object> config = new HashMap<>();
+        config.put("spring.datasource.url", "jdbc:h2:mem:bench-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        config.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        config.put("spring.datasource.username", "sa");
+        config.put("spring.datasource.password", "");
+        config.put("spring.datasource.hikari.maximum-pool-size", "32");
+        config.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        config.put("spring.sql.init.mode", "never");
+        config.put("spring.devtools.restart.enabled", "false");
+        config.put("logging.level.root", "WARN");
+        config.putAll(properties);
+
+        SeededBackend backend = new SeededBackend(new SpringApplicationBuilder(BackendApplication.class)
+                .web(web)
+                .properties(config)
+                .run());
+        backend.seed(flights, bookingsPerFlight);
+        return backend;
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * The HTTP port of a servlet backend started with {@code server.port=0}.
+     */
+    public int port() {
+        return Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+    }
+
+    public long randomFlightId() {
+        return flightIds[ThreadLocalRandom.current().nextInt(flightIds.length)];
+    }
+
+    public long randomCustomerId() {
+        return customerIds[ThreadLocalRandom.current().nextInt(customerIds.length)];
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private void seed(int flights, int bookingsPerFlight) {
+        FlightRepository flightRepo = bean(FlightRepository.class);
+        CustomerRepository customerRepo = bean(CustomerRepository.class);
+        BookingRepository bookingRepo = bean(BookingRepository.class);
+        TransactionTemplate tx = new TransactionTemplate(bean(PlatformTransactionManager.class));
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+
+        List<Flight> savedFlights = new ArrayList<>(flights);
+        List<Customer> savedCustomers = new ArrayList<>(flights);
+        tx.executeWithoutResult(status -> {
+            for (int i = 0; i < flights; i++) {
+                // Seats are plentiful so booking load never sells a flight out
+                Flight flight = new Flight(AIRLINES[i % AIRLINES.length], 1_000_000, firstDay.plusDays(i % 365),
+                        BigDecimal.valueOf(50 + random.nextInt(950)));
+                flight.setBookedSeats(bookingsPerFlight);
+                savedFlights.add(flight);
+                savedCustomers.add(new Customer("Customer " + i, "customer" + i + "@example.com"));
+            }
+            flightRepo.saveAll(savedFlights);
+            customerRepo.saveAll(savedCustomers);
+        });
+        tx.executeWithoutResult(status -> {
+            List<Booking> bookings = new ArrayList<>();
+            for (Flight flight : savedFlights) {
+                for (int b = 0; b < bookingsPerFlight; b++) {
+                    Customer customer = savedCustomers.get(random.nextInt(savedCustomers.size()));
+                    bookings.add(new Booking(flight, customer, flight.getPrice()));
+                }
+            }
+            bookingRepo.saveAll(bookings);
+        });
+
+        flightIds = savedFlights.stream().mapToLong(Flight::getId).toArray();
+        customerIds = savedCustomers.stream().mapToLong(Customer::getId).toArray();
+        bean(SeatInventory.class).load();
+        bean(FlightSearchIndex.class).load();
+        bean(BookingRollupStore.class).load();
+    }
+}
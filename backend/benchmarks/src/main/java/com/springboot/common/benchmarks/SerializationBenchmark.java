@@ -0,0 +1,72 @@
+package com.springboot.common.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.springboot.common.dto.BookingDTO;
+import com.springboot.common.dto.FlightDTO;
+
+/**
+ * Jackson serialization of response-sized DTO lists, with the mapper configured the way the
+ * application's is (Java time support, dates as ISO strings).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private List<FlightDTO> flights;
+    private List<BookingDTO> bookings;
+
+    @Setup
+    public void setUp() {
+        mapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        flights = new ArrayList<>(size);
+        bookings = new ArrayList<>(size);
+        LocalDate day = LocalDate.of(2025, 8, 1);
+        LocalDateTime bookedAt = LocalDateTime.of(2025, 7, 1, 12, 0);
+        for (int i = 0; i < size; i++) {
+            BigDecimal price = BigDecimal.valueOf(10_000 + i, 2);
+            flights.add(new FlightDTO((long) i, BackendState.AIRLINES[i % BackendState.AIRLINES.length], 180, 42,
+                    day.plusDays(i % 365), price));
+            bookings.add(new BookingDTO((long) i, (long) (i % 50), (long) (i % 200), price, bookedAt.plusMinutes(i)));
+        }
+    }
+
+    @Benchmark
+    public byte[] flightList() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(flights);
+    }
+
+    @Benchmark
+    public byte[] bookingList() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(bookings);
+    }
+}
@@ -6,6 +6,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.springboot.common.util.KeysetCursor;
+
 @SpringBootApplication
 public class BackendApplication {
 
@@ -24,6 +26,7 @@ public class BackendApplication {
 								"https://terrific-renewal-production-c2b8.up.railway.app")
 						.allowedMethods("*")
 						.allowedHeaders("*")
+						.exposedHeaders(KeysetCursor.HEADER)
 						.allowCredentials(true);
 			}
 		};
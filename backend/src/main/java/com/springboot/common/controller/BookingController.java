@@ -1,44 +1,114 @@
 package com.springboot.common.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import com.springboot.common.dto.BatchBookingResponseDTO;
+import com.springboot.common.dto.BatchCancellationResponseDTO;
 import com.springboot.common.dto.BookingDTO;
 import com.springboot.common.dto.BookingRequestDTO;
+import com.springboot.common.dto.PageDTO;
 import com.springboot.common.service.BookingService;
+import com.springboot.common.util.KeysetCursor;
 
 @RestController
 @RequestMapping("/api/bookings")
 public class BookingController {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final BookingService service;
+    private final ObjectWriter exportWriter;
 
-    public BookingController(BookingService service) {
+    public BookingController(BookingService service, ObjectMapper mapper) {
         this.service = service;
+        // Let Jackson fill its buffer instead of flushing the response after every booking
+        this.exportWriter = mapper.writerFor(BookingDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
     @PostMapping
-    public ResponseEntity<BookingDTO> book(@RequestBody BookingRequestDTO req) {
-        BookingDTO dto = service.createBooking(req);
+    public ResponseEntity<BookingDTO> book(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody BookingRequestDTO req) {
+        BookingDTO dto = idempotencyKey == null
+                ? service.createBooking(req)
+                : service.createBooking(req, idempotencyKey);
         return ResponseEntity.ok(dto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchBookingResponseDTO> bookBatch(@RequestBody List<BookingRequestDTO> requests) {
+        return ResponseEntity.ok(service.createBookings(requests));
+    }
+
+    @PostMapping("/cancel")
+    public ResponseEntity<BatchCancellationResponseDTO> cancelBatch(@RequestBody List<Long> bookingIds) {
+        return ResponseEntity.ok(service.cancelBookings(bookingIds));
+    }
+
     @GetMapping("/customer/{customerId}")
     public ResponseEntity<List<BookingDTO>> byCustomer(@PathVariable Long customerId) {
         return ResponseEntity.ok(service.getBookingsByCustomer(customerId));
     }
 
     @GetMapping
-    public ResponseEntity<List<BookingDTO>> getAllBookings() {
-        List<BookingDTO> all = service.findAllBookings();
-        return ResponseEntity.ok(all);
+    public ResponseEntity<List<BookingDTO>> getAllBookings(@RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        PageDTO<BookingDTO> page = service.listBookings(after, limit);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            ok.header(KeysetCursor.HEADER, page.getNextCursor());
+        }
+        return ok.body(page.getItems());
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        boolean array = switch (format) {
+            case "ndjson" -> false;
+            case "json" -> true;
+            default -> throw new RuntimeException("Export format must be ndjson or json");
+        };
+        StreamingResponseBody body = out -> {
+            ObjectWriter writer = array ? exportWriter : exportWriter.withRootValueSeparator("\n");
+            try (SequenceWriter rows = array ? writer.writeValuesAsArray(out) : writer.writeValues(out)) {
+                service.streamBookings(booking -> {
+                    try {
+                        rows.write(booking);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            if (!array) {
+                out.write('\n');
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(array ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @DeleteMapping("/{id}")
@@ -48,8 +118,7 @@ public class BookingController {
     }
 
     @DeleteMapping("/all")
-    public ResponseEntity<Void> cancelAll() {
-        service.cancelAllBookings();
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Map<String, Long>> cancelAll() {
+        return ResponseEntity.ok(Map.of("cancelled", service.cancelAllBookings()));
     }
 }
@@ -1,19 +1,28 @@
 package com.springboot.common.controller;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.springboot.common.dto.CustomerDTO;
+import com.springboot.common.dto.CustomerImportResultDTO;
+import com.springboot.common.dto.PageDTO;
 import com.springboot.common.service.CustomerService;
+import com.springboot.common.util.KeysetCursor;
 
 @RestController
 @RequestMapping("/api/customers")
@@ -31,9 +40,34 @@ public class CustomerController {
                 .body(created);
     }
 
+    @PostMapping(value = "/import", consumes = {ImportRequests.CSV, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<CustomerImportResultDTO> importCustomers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) {
+        return ResponseEntity.ok(service.importCustomers(ImportRequests.reader(contentType, body),
+                ImportRequests.format(contentType)));
+    }
+
     @GetMapping
-    public ResponseEntity<List<CustomerDTO>> getAllCustomers() {
-        return ResponseEntity.ok(service.getAllCustomers());
+    public ResponseEntity<List<CustomerDTO>> getAllCustomers(@RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        PageDTO<CustomerDTO> page = service.listCustomers(after, limit);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            ok.header(KeysetCursor.HEADER, page.getNextCursor());
+        }
+        return ok.body(page.getItems());
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<Map<Long, CustomerDTO>> byIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(service.getCustomersByIds(ids));
+    }
+
+    @GetMapping("/by-email")
+    public ResponseEntity<CustomerDTO> getByEmail(@RequestParam String email) {
+        return service.getCustomerByEmail(email)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{id}")
@@ -1,9 +1,15 @@
 package com.springboot.common.controller;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,12 +17,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.springboot.common.dto.FareDayDTO;
 import com.springboot.common.dto.FlightDTO;
+import com.springboot.common.dto.FlightImportResultDTO;
+import com.springboot.common.dto.PageDTO;
 import com.springboot.common.service.FlightService;
+import com.springboot.common.util.KeysetCursor;
 
 @RestController
 @RequestMapping("/api/flights")
@@ -29,9 +40,45 @@ public class FlightController {
         return ResponseEntity.ok(service.addFlight(dto));
     }
 
+    @PostMapping(value = "/import", consumes = {ImportRequests.CSV, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<FlightImportResultDTO> importFlights(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) {
+        return ResponseEntity.ok(service.importFlights(ImportRequests.reader(contentType, body),
+                ImportRequests.format(contentType)));
+    }
+
     @GetMapping
-    public ResponseEntity<List<FlightDTO>> all() {
-        return ResponseEntity.ok(service.listAll());
+    public ResponseEntity<List<FlightDTO>> all(@RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        PageDTO<FlightDTO> page = service.listFlights(after, limit);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            ok.header(KeysetCursor.HEADER, page.getNextCursor());
+        }
+        return ok.body(page.getItems());
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<Map<Long, FlightDTO>> byIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(service.getFlightsByIds(ids));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<FlightDTO>> search(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String airline,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Integer minSeats,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(service.searchFlights(from, to, airline, maxPrice, minSeats, limit));
+    }
+
+    @GetMapping("/calendar")
+    public ResponseEntity<List<FareDayDTO>> fareCalendar(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(required = false) String airline) {
+        return ResponseEntity.ok(service.getFareCalendar(month, airline));
     }
 
     @GetMapping("/by-date")
@@ -54,6 +101,11 @@ public class FlightController {
         return ResponseEntity.ok(service.checkAvailability(id));
     }
 
+    @PostMapping("/availability")
+    public ResponseEntity<Map<Long, Integer>> availabilityBatch(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(service.checkAvailability(ids));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<FlightDTO> update(@PathVariable Long id, @RequestBody FlightDTO dto) {
         return ResponseEntity.ok(service.updateFlight(id, dto));
@@ -0,0 +1,30 @@
+package com.springboot.common.controller;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.MediaType;
+
+import com.springboot.common.service.ImportFormat;
+
+/**
+ * Reads the body of a bulk import request: its format comes from the Content-Type, and the text is
+ * decoded as the charset given there, UTF-8 if none is.
+ */
+final class ImportRequests {
+    static final String CSV = "text/csv";
+
+    private ImportRequests() {}
+
+    static ImportFormat format(MediaType contentType) {
+        return MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType) ? ImportFormat.NDJSON : ImportFormat.CSV;
+    }
+
+    static Reader reader(MediaType contentType, InputStream body) {
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        return new InputStreamReader(body, charset);
+    }
+}
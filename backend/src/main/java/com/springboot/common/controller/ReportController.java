@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -32,8 +33,9 @@ public class ReportController {
     }
 
     @GetMapping("/dashboard")
-    public ResponseEntity<Map<String, Object>> getDashboardStats() {
-        return ResponseEntity.ok(service.getDashboardStats());
+    public ResponseEntity<Map<String, Object>> getDashboardStats(
+            @RequestParam(required = false) Set<String> include) {
+        return ResponseEntity.ok(service.getDashboardStats(include));
     }
 
     @GetMapping("/booking-trends")
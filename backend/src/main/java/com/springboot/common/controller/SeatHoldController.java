@@ -0,0 +1,47 @@
+package com.springboot.common.controller;
+
+import java.net.URI;
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.springboot.common.dto.BookingDTO;
+import com.springboot.common.dto.ConfirmHoldRequestDTO;
+import com.springboot.common.dto.HoldDTO;
+import com.springboot.common.dto.HoldRequestDTO;
+import com.springboot.common.service.SeatHoldService;
+
+@RestController
+@RequestMapping("/api/flights/{flightId}/holds")
+public class SeatHoldController {
+    private final SeatHoldService service;
+
+    public SeatHoldController(SeatHoldService service) {
+        this.service = service;
+    }
+
+    @PostMapping
+    public ResponseEntity<HoldDTO> hold(@PathVariable Long flightId, @RequestBody(required = false) HoldRequestDTO req) {
+        HoldDTO created = service.placeHold(flightId, req == null ? new HoldRequestDTO() : req);
+        return ResponseEntity.created(URI.create("/api/flights/" + flightId + "/holds/" + created.getId()))
+                .body(created);
+    }
+
+    @PostMapping("/{holdId}/confirm")
+    public ResponseEntity<List<BookingDTO>> confirm(@PathVariable Long flightId, @PathVariable String holdId,
+            @RequestBody ConfirmHoldRequestDTO req) {
+        return ResponseEntity.ok(service.confirmHold(flightId, holdId, req));
+    }
+
+    @DeleteMapping("/{holdId}")
+    public ResponseEntity<Void> release(@PathVariable Long flightId, @PathVariable String holdId) {
+        service.releaseHold(flightId, holdId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.springboot.common.dto;
+
+import java.util.List;
+
+public class BatchBookingResponseDTO {
+    private int requested;
+    private int booked;
+    private List<BookingResultDTO> results;
+
+    // Constructors, getters, setters
+    public BatchBookingResponseDTO() {}
+    public BatchBookingResponseDTO(int requested, int booked, List<BookingResultDTO> results) {
+        this.requested = requested;
+        this.booked = booked;
+        this.results = results;
+    }
+    public int getRequested() { return requested; }
+    public void setRequested(int requested) { this.requested = requested; }
+    public int getBooked() { return booked; }
+    public void setBooked(int booked) { this.booked = booked; }
+    public List<BookingResultDTO> getResults() { return results; }
+    public void setResults(List<BookingResultDTO> results) { this.results = results; }
+}
@@ -0,0 +1,23 @@
+package com.springboot.common.dto;
+
+import java.util.List;
+
+public class BatchCancellationResponseDTO {
+    private int requested;
+    private int cancelled;
+    private List<Long> notFound;
+
+    // Constructors, getters, setters
+    public BatchCancellationResponseDTO() {}
+    public BatchCancellationResponseDTO(int requested, int cancelled, List<Long> notFound) {
+        this.requested = requested;
+        this.cancelled = cancelled;
+        this.notFound = notFound;
+    }
+    public int getRequested() { return requested; }
+    public void setRequested(int requested) { this.requested = requested; }
+    public int getCancelled() { return cancelled; }
+    public void setCancelled(int cancelled) { this.cancelled = cancelled; }
+    public List<Long> getNotFound() { return notFound; }
+    public void setNotFound(List<Long> notFound) { this.notFound = notFound; }
+}
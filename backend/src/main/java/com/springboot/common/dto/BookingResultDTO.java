@@ -0,0 +1,23 @@
+package com.springboot.common.dto;
+
+public class BookingResultDTO {
+    public enum Status { BOOKED, SOLD_OUT, FLIGHT_NOT_FOUND, CUSTOMER_NOT_FOUND }
+
+    private int index;
+    private Status status;
+    private BookingDTO booking;
+
+    // Constructors, getters, setters
+    public BookingResultDTO() {}
+    public BookingResultDTO(int index, Status status, BookingDTO booking) {
+        this.index = index;
+        this.status = status;
+        this.booking = booking;
+    }
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    public BookingDTO getBooking() { return booking; }
+    public void setBooking(BookingDTO booking) { this.booking = booking; }
+}
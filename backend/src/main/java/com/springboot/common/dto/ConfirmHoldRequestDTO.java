@@ -0,0 +1,11 @@
+package com.springboot.common.dto;
+
+import java.math.BigDecimal;
+import lombok.Data;
+
+@Data
+public class ConfirmHoldRequestDTO {
+    private Long customerId;
+    private BigDecimal price;
+
+}
@@ -0,0 +1,46 @@
+package com.springboot.common.dto;
+
+import java.util.List;
+
+public class CustomerImportResultDTO {
+    private long rows;
+    private long imported;
+    private long rejected;
+    private List<Reject> rejects;
+
+    // Constructors, getters, setters
+    public CustomerImportResultDTO() {}
+    public CustomerImportResultDTO(long rows, long imported, long rejected, List<Reject> rejects) {
+        this.rows = rows;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.rejects = rejects;
+    }
+    public long getRows() { return rows; }
+    public void setRows(long rows) { this.rows = rows; }
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+    public long getRejected() { return rejected; }
+    public void setRejected(long rejected) { this.rejected = rejected; }
+    public List<Reject> getRejects() { return rejects; }
+    public void setRejects(List<Reject> rejects) { this.rejects = rejects; }
+
+    public static class Reject {
+        private long line;
+        private String email;
+        private String reason;
+
+        public Reject() {}
+        public Reject(long line, String email, String reason) {
+            this.line = line;
+            this.email = email;
+            this.reason = reason;
+        }
+        public long getLine() { return line; }
+        public void setLine(long line) { this.line = line; }
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+        public String getReason() { return reason; }
+        public void setReason(String reason) { this.reason = reason; }
+    }
+}
@@ -0,0 +1,28 @@
+package com.springboot.common.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class FareDayDTO {
+    private LocalDate date;
+    private BigDecimal lowestFare;
+    private int seatsRemaining;
+    private int flights;
+
+    // Constructors, getters, setters
+    public FareDayDTO() {}
+    public FareDayDTO(LocalDate date, BigDecimal lowestFare, int seatsRemaining, int flights) {
+        this.date = date;
+        this.lowestFare = lowestFare;
+        this.seatsRemaining = seatsRemaining;
+        this.flights = flights;
+    }
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+    public BigDecimal getLowestFare() { return lowestFare; }
+    public void setLowestFare(BigDecimal lowestFare) { this.lowestFare = lowestFare; }
+    public int getSeatsRemaining() { return seatsRemaining; }
+    public void setSeatsRemaining(int seatsRemaining) { this.seatsRemaining = seatsRemaining; }
+    public int getFlights() { return flights; }
+    public void setFlights(int flights) { this.flights = flights; }
+}
@@ -0,0 +1,63 @@
+package com.springboot.common.dto;
+
+import java.util.List;
+
+public class FlightImportResultDTO {
+    private long rows;
+    private long inserted;
+    private long updated;
+    private long unchanged;
+    private long rejected;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<Reject> rejects;
+
+    // Constructors, getters, setters
+    public FlightImportResultDTO() {}
+    public FlightImportResultDTO(long rows, long inserted, long updated, long unchanged, long rejected,
+            long elapsedMillis, double rowsPerSecond, List<Reject> rejects) {
+        this.rows = rows;
+        this.inserted = inserted;
+        this.updated = updated;
+        this.unchanged = unchanged;
+        this.rejected = rejected;
+        this.elapsedMillis = elapsedMillis;
+        this.rowsPerSecond = rowsPerSecond;
+        this.rejects = rejects;
+    }
+    public long getRows() { return rows; }
+    public void setRows(long rows) { this.rows = rows; }
+    public long getInserted() { return inserted; }
+    public void setInserted(long inserted) { this.inserted = inserted; }
+    public long getUpdated() { return updated; }
+    public void setUpdated(long updated) { this.updated = updated; }
+    public long getUnchanged() { return unchanged; }
+    public void setUnchanged(long unchanged) { this.unchanged = unchanged; }
+    public long getRejected() { return rejected; }
+    public void setRejected(long rejected) { this.rejected = rejected; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+    public double getRowsPerSecond() { return rowsPerSecond; }
+    public void setRowsPerSecond(double rowsPerSecond) { this.rowsPerSecond = rowsPerSecond; }
+    public List<Reject> getRejects() { return rejects; }
+    public void setRejects(List<Reject> rejects) { this.rejects = rejects; }
+
+    public static class Reject {
+        private long line;
+        private String flight;
+        private String reason;
+
+        public Reject() {}
+        public Reject(long line, String flight, String reason) {
+            this.line = line;
+            this.flight = flight;
+            this.reason = reason;
+        }
+        public long getLine() { return line; }
+        public void setLine(long line) { this.line = line; }
+        public String getFlight() { return flight; }
+        public void setFlight(String flight) { this.flight = flight; }
+        public String getReason() { return reason; }
+        public void setReason(String reason) { this.reason = reason; }
+    }
+}
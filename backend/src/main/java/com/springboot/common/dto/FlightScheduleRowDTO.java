@@ -0,0 +1,33 @@
+package com.springboot.common.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class FlightScheduleRowDTO {
+    private String airlineName;
+    private String flightNumber;
+    private LocalDate flightDate;
+    private Integer totalSeats;
+    private BigDecimal price;
+
+    // Constructors, getters, setters
+    public FlightScheduleRowDTO() {}
+    public FlightScheduleRowDTO(String airlineName, String flightNumber, LocalDate flightDate, Integer totalSeats,
+            BigDecimal price) {
+        this.airlineName = airlineName;
+        this.flightNumber = flightNumber;
+        this.flightDate = flightDate;
+        this.totalSeats = totalSeats;
+        this.price = price;
+    }
+    public String getAirlineName() { return airlineName; }
+    public void setAirlineName(String airlineName) { this.airlineName = airlineName; }
+    public String getFlightNumber() { return flightNumber; }
+    public void setFlightNumber(String flightNumber) { this.flightNumber = flightNumber; }
+    public LocalDate getFlightDate() { return flightDate; }
+    public void setFlightDate(LocalDate flightDate) { this.flightDate = flightDate; }
+    public Integer getTotalSeats() { return totalSeats; }
+    public void setTotalSeats(Integer totalSeats) { this.totalSeats = totalSeats; }
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+}
@@ -0,0 +1,27 @@
+package com.springboot.common.dto;
+
+import java.time.Instant;
+
+public class HoldDTO {
+    private String id;
+    private Long flightId;
+    private int seats;
+    private Instant expiresAt;
+
+    // Constructors, getters, setters
+    public HoldDTO() {}
+    public HoldDTO(String id, Long flightId, int seats, Instant expiresAt) {
+        this.id = id;
+        this.flightId = flightId;
+        this.seats = seats;
+        this.expiresAt = expiresAt;
+    }
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public Long getFlightId() { return flightId; }
+    public void setFlightId(Long flightId) { this.flightId = flightId; }
+    public int getSeats() { return seats; }
+    public void setSeats(int seats) { this.seats = seats; }
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+}
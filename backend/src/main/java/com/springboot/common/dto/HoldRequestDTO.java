@@ -0,0 +1,10 @@
+package com.springboot.common.dto;
+
+import lombok.Data;
+
+@Data
+public class HoldRequestDTO {
+    private Integer seats;
+    private Integer ttlSeconds;
+
+}
@@ -0,0 +1,19 @@
+package com.springboot.common.dto;
+
+import java.util.List;
+
+public class PageDTO<T> {
+    private List<T> items;
+    private String nextCursor;
+
+    // Constructors, getters, setters
+    public PageDTO() {}
+    public PageDTO(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
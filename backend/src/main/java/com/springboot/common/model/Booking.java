@@ -5,17 +5,24 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_booking_date", columnList = "booking_date"),
+    @Index(name = "idx_bookings_flight_id", columnList = "flight_id"),
+    @Index(name = "idx_bookings_customer_id", columnList = "customer_id")
+})
 public class Booking {
+    // A pooled sequence lets Hibernate batch inserts, which IDENTITY columns rule out
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(optional = false)
+    // Lazy so reading a booking does not drag in its flight and customer; queries that need them say so
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "flight_id")
     private Flight flight;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "customer_id")
     private Customer customer;
 
@@ -25,6 +32,10 @@ public class Booking {
     @Column(nullable = false)
     private LocalDateTime bookingDate;
 
+    // Client-supplied Idempotency-Key; unique so a retry can never insert a second booking
+    @Column(unique = true, length = 64)
+    private String idempotencyKey;
+
     // Constructors, getters, setters
     public Booking() {}
     public Booking(Flight flight, Customer customer, BigDecimal price) {
@@ -43,4 +54,6 @@ public class Booking {
     public void setPrice(BigDecimal price) { this.price = price; }
     public LocalDateTime getBookingDate() { return bookingDate; }
     public void setBookingDate(LocalDateTime bookingDate) { this.bookingDate = bookingDate; }
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
 }
\ No newline at end of file
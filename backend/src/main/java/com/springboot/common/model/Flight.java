@@ -4,16 +4,30 @@ import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import org.hibernate.annotations.DynamicUpdate;
+
+// Dynamic updates keep schedule edits from overwriting booked_seats, which only changes through
+// the atomic claim/release statements in FlightRepository
 @Entity
-@Table(name = "flights")
+@Table(name = "flights", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_flights_schedule", columnNames = {"airline_name", "flight_date", "flight_number"})
+})
+@DynamicUpdate
 public class Flight {
+    // A pooled sequence, as on bookings, so schedule imports go out as JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flights_seq")
+    @SequenceGenerator(name = "flights_seq", sequenceName = "flights_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String airlineName;
 
+    // The airline's own designator, e.g. "DL 1234"; with the airline and date it identifies an
+    // imported flight. Flights added one at a time may leave it empty.
+    @Column(length = 16)
+    private String flightNumber;
+
     @Column(nullable = false)
     private int totalSeats;
 
@@ -26,6 +40,10 @@ public class Flight {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
 
+    // Seats held for checkout but not yet booked; never persisted
+    @Transient
+    private int heldSeats = 0;
+
     // Constructors, getters, setters
     public Flight() {}
     
@@ -41,6 +59,8 @@ public class Flight {
     public void setId(Long id) { this.id = id; }
     public String getAirlineName() { return airlineName; }
     public void setAirlineName(String airlineName) { this.airlineName = airlineName; }
+    public String getFlightNumber() { return flightNumber; }
+    public void setFlightNumber(String flightNumber) { this.flightNumber = flightNumber; }
     public int getTotalSeats() { return totalSeats; }
     public void setTotalSeats(int totalSeats) { this.totalSeats = totalSeats; }
     public int getBookedSeats() { return bookedSeats; }
@@ -49,13 +69,15 @@ public class Flight {
     public void setFlightDate(LocalDate flightDate) { this.flightDate = flightDate; }
     public BigDecimal getPrice() { return price; }
     public void setPrice(BigDecimal price) { this.price = price; }
+    public int getHeldSeats() { return heldSeats; }
+    public void setHeldSeats(int heldSeats) { this.heldSeats = heldSeats; }
     
     public int getAvailableSeats() {
-        return totalSeats - bookedSeats;
+        return totalSeats - bookedSeats - heldSeats;
     }
     
     public void setAvailableSeats(int availableSeats) {
-        this.bookedSeats = totalSeats - availableSeats;
+        this.bookedSeats = totalSeats - heldSeats - availableSeats;
     }
     
     public void bookSeat() {
@@ -0,0 +1,18 @@
+package com.springboot.common.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Seat and fare totals over the flights of one airline.
+ */
+public interface AirlineCapacityView {
+    String getAirlineName();
+
+    Long getFlights();
+
+    Long getTotalSeats();
+
+    Long getBookedSeats();
+
+    BigDecimal getPriceTotal();
+}
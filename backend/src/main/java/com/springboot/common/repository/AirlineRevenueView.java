@@ -0,0 +1,16 @@
+package com.springboot.common.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Booking totals of one airline: distinct flights booked, bookings and revenue.
+ */
+public interface AirlineRevenueView {
+    String getAirlineName();
+
+    Long getFlights();
+
+    Long getBookings();
+
+    BigDecimal getRevenue();
+}
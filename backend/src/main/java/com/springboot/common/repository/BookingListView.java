@@ -0,0 +1,19 @@
+package com.springboot.common.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A booking as the list endpoint returns it, read by foreign key without joining its flight or customer.
+ */
+public interface BookingListView {
+    Long getId();
+
+    Long getFlightId();
+
+    Long getCustomerId();
+
+    BigDecimal getPrice();
+
+    LocalDateTime getBookingDate();
+}
@@ -1,17 +1,98 @@
 package com.springboot.common.repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.springboot.common.model.Booking;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    @EntityGraph(attributePaths = {"flight", "customer"})
     List<Booking> findByCustomerId(Long customerId);
 
-    List<Booking> findByFlightAirlineNameAndBookingDateBetween(
-            String airlineName, LocalDateTime start, LocalDateTime end);
+    // Reads the foreign keys off the bookings row; neither the flight nor the customer is joined
+    @Query("SELECT b.id AS id, b.flight.id AS flightId, b.customer.id AS customerId, b.price AS price, "
+            + "b.bookingDate AS bookingDate FROM Booking b WHERE b.customer.id = :customerId ORDER BY b.id")
+    List<BookingListView> findListByCustomerId(@Param("customerId") Long customerId);
+
+    @Query("SELECT b.id AS id, b.flight.id AS flightId, b.customer.id AS customerId, b.price AS price, "
+            + "b.bookingDate AS bookingDate FROM Booking b WHERE b.idempotencyKey = :key")
+    Optional<BookingListView> findListByIdempotencyKey(@Param("key") String key);
 
     void deleteAll();
+
+    @Query("SELECT b.id AS id, b.flight.id AS flightId, b.customer.id AS customerId, b.price AS price, "
+            + "b.bookingDate AS bookingDate FROM Booking b WHERE b.id > :after ORDER BY b.id")
+    List<BookingListView> findPageAfter(@Param("after") Long after, Limit limit);
+
+    // Forward-only cursor for exports; scalar rows are never managed, so the persistence context stays empty
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT b.id AS id, b.flight.id AS flightId, b.customer.id AS customerId, b.price AS price, "
+            + "b.bookingDate AS bookingDate FROM Booking b ORDER BY b.id")
+    Stream<BookingListView> streamAll();
+
+    @Query("SELECT b.id AS id, f.id AS flightId, f.airlineName AS airlineName, b.price AS price, "
+            + "b.bookingDate AS bookingDate FROM Booking b JOIN b.flight f WHERE b.id = :id")
+    Optional<BookingSummaryView> findSummaryById(@Param("id") Long id);
+
+    // Locks the bookings (and their flights) so a concurrent cancel of the same ids waits, then finds
+    // them gone rather than releasing their seats a second time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id AS id, f.id AS flightId, f.airlineName AS airlineName, b.price AS price, "
+            + "b.bookingDate AS bookingDate FROM Booking b JOIN b.flight f WHERE b.id IN :ids")
+    List<BookingSummaryView> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT f.airlineName AS airlineName, CAST(b.bookingDate AS LocalDate) AS day, "
+            + "COUNT(b) AS bookings, SUM(b.price) AS revenue FROM Booking b JOIN b.flight f "
+            + "GROUP BY f.airlineName, CAST(b.bookingDate AS LocalDate)")
+    List<BookingRollupView> summarizeByAirlineAndDay();
+
+    @Query("SELECT COUNT(b) AS bookings, COALESCE(SUM(b.price), 0) AS revenue FROM Booking b")
+    BookingTotalsView summarizeAll();
+
+    @Query("SELECT f.airlineName AS airlineName, COUNT(DISTINCT f.id) AS flights, COUNT(b) AS bookings, "
+            + "SUM(b.price) AS revenue FROM Booking b JOIN b.flight f "
+            + "WHERE f.airlineName = :airlineName AND b.bookingDate BETWEEN :start AND :end GROUP BY f.airlineName")
+    List<AirlineRevenueView> summarizeAirlineRevenue(@Param("airlineName") String airlineName,
+            @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT f.airlineName AS airlineName, COUNT(DISTINCT f.id) AS flights, COUNT(b) AS bookings, "
+            + "SUM(b.price) AS revenue FROM Booking b JOIN b.flight f "
+            + "WHERE f.flightDate >= :date GROUP BY f.airlineName")
+    List<AirlineRevenueView> summarizeRevenueByAirlineForFlightsFrom(@Param("date") LocalDate date);
+
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id = :id")
+    int deleteBookingById(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids")
+    int deleteBookingsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.id > :after ORDER BY b.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Limit limit);
+
+    // The flight of every booking in the id range, one row per booking, locked for the delete that follows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.flight.id FROM Booking b WHERE b.id > :after AND b.id <= :upTo")
+    List<Long> lockFlightIdsBetween(@Param("after") Long after, @Param("upTo") Long upTo);
+
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id > :after AND b.id <= :upTo")
+    int deleteBetween(@Param("after") Long after, @Param("upTo") Long upTo);
 }
@@ -0,0 +1,17 @@
+package com.springboot.common.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Booking count and revenue of one airline on one booking day.
+ */
+public interface BookingRollupView {
+    String getAirlineName();
+
+    LocalDate getDay();
+
+    Long getBookings();
+
+    BigDecimal getRevenue();
+}
@@ -0,0 +1,19 @@
+package com.springboot.common.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * What cancelling a booking needs to know about it, read without hydrating any entity.
+ */
+public interface BookingSummaryView {
+    Long getId();
+
+    Long getFlightId();
+
+    String getAirlineName();
+
+    BigDecimal getPrice();
+
+    LocalDateTime getBookingDate();
+}
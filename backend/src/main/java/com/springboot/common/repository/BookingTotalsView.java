@@ -0,0 +1,12 @@
+package com.springboot.common.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Booking count and revenue over every booking.
+ */
+public interface BookingTotalsView {
+    Long getBookings();
+
+    BigDecimal getRevenue();
+}
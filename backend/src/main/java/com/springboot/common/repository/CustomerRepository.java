@@ -1,8 +1,23 @@
 package com.springboot.common.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.springboot.common.model.Customer;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    Optional<Customer> findByEmail(String email);
+
+    // Answered from the unique index on email
+    @Query("SELECT c.email FROM Customer c WHERE c.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
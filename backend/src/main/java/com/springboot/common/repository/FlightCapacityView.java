@@ -0,0 +1,12 @@
+package com.springboot.common.repository;
+
+/**
+ * Flight and seat totals over a set of flights.
+ */
+public interface FlightCapacityView {
+    Long getFlights();
+
+    Long getTotalSeats();
+
+    Long getBookedSeats();
+}
@@ -0,0 +1,19 @@
+package com.springboot.common.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The schedule fields of a flight that the search index keeps, without its seat counters.
+ */
+public interface FlightListingView {
+    Long getId();
+
+    String getAirlineName();
+
+    int getTotalSeats();
+
+    LocalDate getFlightDate();
+
+    BigDecimal getPrice();
+}
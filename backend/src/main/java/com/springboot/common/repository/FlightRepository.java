@@ -1,9 +1,16 @@
 package com.springboot.common.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -11,7 +18,73 @@ import com.springboot.common.model.Flight;
 
 public interface FlightRepository extends JpaRepository<Flight, Long> {
     List<Flight> findByFlightDate(LocalDate date);
+
+    // Keyset page: walks the primary key from the cursor, so deep pages cost the same as the first
+    List<Flight> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
     
     @Query("SELECT f FROM Flight f WHERE f.flightDate >= :date ORDER BY f.flightDate ASC")
     List<Flight> findByFlightDateGreaterThanEqual(@Param("date") LocalDate date);
+
+    @Query("SELECT f.id AS id, f.totalSeats AS totalSeats, f.bookedSeats AS bookedSeats FROM Flight f")
+    List<FlightSeatsView> findAllSeatCounts();
+
+    @Query("SELECT f.id AS id, f.airlineName AS airlineName, f.totalSeats AS totalSeats, f.flightDate AS flightDate, "
+            + "f.price AS price FROM Flight f")
+    List<FlightListingView> findAllListings();
+
+    // Holds seat claims on the flight until the caller's transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM Flight f WHERE f.id = :id")
+    Optional<Flight> findForUpdateById(@Param("id") Long id);
+
+    @Query("SELECT f.id AS id, f.totalSeats AS totalSeats, f.bookedSeats AS bookedSeats FROM Flight f WHERE f.id = :id")
+    Optional<FlightSeatsView> findSeatCountsById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(f) AS flights, COALESCE(SUM(f.totalSeats), 0) AS totalSeats, "
+            + "COALESCE(SUM(f.bookedSeats), 0) AS bookedSeats FROM Flight f WHERE f.flightDate >= :date")
+    FlightCapacityView summarizeCapacityFrom(@Param("date") LocalDate date);
+
+    @Query("SELECT f.airlineName AS airlineName, COUNT(f) AS flights, SUM(f.totalSeats) AS totalSeats, "
+            + "SUM(f.bookedSeats) AS bookedSeats, SUM(f.price) AS priceTotal FROM Flight f "
+            + "WHERE f.flightDate >= :date GROUP BY f.airlineName")
+    List<AirlineCapacityView> summarizeCapacityByAirlineFrom(@Param("date") LocalDate date);
+
+    @Query("SELECT f.airlineName FROM Flight f WHERE f.id = :id")
+    Optional<String> findAirlineNameById(@Param("id") Long id);
+
+    @Query("SELECT f.flightDate FROM Flight f WHERE f.id = :id")
+    Optional<LocalDate> findFlightDateById(@Param("id") Long id);
+
+    // Candidates for a batch of schedule rows, narrowed on the (airline, date, flight number) unique
+    // index; callers match the exact keys in memory
+    @Query("SELECT f FROM Flight f WHERE f.airlineName IN :airlines AND f.flightNumber IN :numbers "
+            + "AND f.flightDate BETWEEN :from AND :to")
+    List<Flight> findScheduled(@Param("airlines") Collection<String> airlines,
+            @Param("numbers") Collection<String> numbers, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Claims a seat in one statement; returns 0 when the flight is full or does not exist
+    @Modifying
+    @Query("UPDATE Flight f SET f.bookedSeats = f.bookedSeats + 1 WHERE f.id = :id AND f.bookedSeats < f.totalSeats")
+    int claimSeat(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Flight f SET f.bookedSeats = f.bookedSeats + :seats WHERE f.id = :id AND f.bookedSeats + :seats <= f.totalSeats")
+    int claimSeats(@Param("id") Long id, @Param("seats") int seats);
+
+    @Modifying
+    @Query("UPDATE Flight f SET f.bookedSeats = f.bookedSeats - 1 WHERE f.id = :id AND f.bookedSeats > 0")
+    int releaseSeat(@Param("id") Long id);
+
+    // Clamped at zero rather than guarded, so the update always lands on an existing flight
+    @Modifying
+    @Query("UPDATE Flight f SET f.bookedSeats = GREATEST(0, f.bookedSeats - :seats) WHERE f.id = :id")
+    int releaseSeats(@Param("id") Long id, @Param("seats") int seats);
+
+    // One statement hands every affected flight back the seats held by the bookings in the id range
+    @Modifying
+    @Query(value = "UPDATE flights f SET booked_seats = GREATEST(0, booked_seats - "
+            + "(SELECT COUNT(*) FROM bookings b WHERE b.flight_id = f.id AND b.id > :after AND b.id <= :upTo)) "
+            + "WHERE f.id IN (SELECT b.flight_id FROM bookings b WHERE b.id > :after AND b.id <= :upTo)",
+            nativeQuery = true)
+    int releaseSeatsOfBookingsBetween(@Param("after") Long after, @Param("upTo") Long upTo);
 }
@@ -0,0 +1,12 @@
+package com.springboot.common.repository;
+
+/**
+ * Seat counters of a flight, read without hydrating the {@code Flight} entity.
+ */
+public interface FlightSeatsView {
+    Long getId();
+
+    int getTotalSeats();
+
+    int getBookedSeats();
+}
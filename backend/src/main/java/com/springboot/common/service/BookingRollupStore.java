@@ -0,0 +1,260 @@
+package com.springboot.common.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.springboot.common.repository.BookingRepository;
+import com.springboot.common.repository.BookingRollupView;
+import com.springboot.common.repository.FlightRepository;
+
+import static com.springboot.common.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Booking count and revenue per (airline, booking day), kept in memory so reports cost one
+ * entry per day in range instead of a scan over {@code bookings}. Built from a single
+ * {@code GROUP BY} at startup and then moved incrementally by every booking and cancellation
+ * once its transaction commits.
+ *
+ * A change holds the read lock from just before its transaction commits until it has been applied,
+ * and a rebuild holds the write lock while it reads. A rebuild therefore never starts between a
+ * commit and its increment, and commits that arrive during a rebuild wait for it and are applied
+ * on top, so nothing is lost or counted twice.
+ */
+@Component
+public class BookingRollupStore {
+    private static final Logger log = LoggerFactory.getLogger(BookingRollupStore.class);
+
+    private final BookingRepository bookingRepo;
+    private final FlightRepository flightRepo;
+    // Rebuilds read in a transaction of their own, which holds its connection before taking the
+    // write lock; commits waiting on the lock cannot then starve the rebuild of a connection
+    private final TransactionTemplate rebuildTransaction;
+
+    private final ConcurrentSkipListMap<LocalDate, ConcurrentHashMap<String, Totals>> days = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, String> airlineByFlight = new ConcurrentHashMap<>();
+    // Committing changes share the read lock; a rebuild takes the write lock
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    public BookingRollupStore(BookingRepository bookingRepo, FlightRepository flightRepo,
+            PlatformTransactionManager transactionManager) {
+        this.bookingRepo = bookingRepo;
+        this.flightRepo = flightRepo;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rebuildTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Counts new bookings on a flight once the current transaction commits.
+     */
+    public void recordBookings(long flightId, LocalDateTime bookingDate, int count, BigDecimal revenue) {
+        String airline = airlineOf(flightId);
+        if (airline != null) {
+            onCommit(airline, bookingDate.toLocalDate(), count, revenue);
+        }
+    }
+
+    /**
+     * Takes a cancelled booking back out once the current transaction commits.
+     */
+    public void recordCancellation(String airline, LocalDateTime bookingDate, BigDecimal price) {
+        onCommit(airline, bookingDate.toLocalDate(), -1, price.negate());
+    }
+
+    public void flightSaved(long flightId, String airline) {
+        airlineByFlight.put(flightId, airline);
+    }
+
+    public void flightDeleted(long flightId) {
+        airlineByFlight.remove(flightId);
+    }
+
+    /**
+     * Totals across airlines for each day in {@code [start, end]} that has bookings.
+     */
+    public NavigableMap<LocalDate, Totals> dailyTotals(LocalDate start, LocalDate end) {
+        ensureLoaded();
+        NavigableMap<LocalDate, Totals> result = new TreeMap<>();
+        for (Map.Entry<LocalDate, ConcurrentHashMap<String, Totals>> day : days.subMap(start, true, end, true).entrySet()) {
+            Totals sum = Totals.ZERO;
+            for (Totals t : day.getValue().values()) {
+                sum = sum.plus(t);
+            }
+            if (sum.getBookings() > 0) {
+                result.put(day.getKey(), sum);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Totals per airline over the days in {@code [start, end]}.
+     */
+    public Map<String, Totals> totalsByAirline(LocalDate start, LocalDate end) {
+        ensureLoaded();
+        Map<String, Totals> result = new HashMap<>();
+        for (ConcurrentHashMap<String, Totals> day : days.subMap(start, true, end, true).values()) {
+            day.forEach((airline, t) -> result.merge(airline, t, Totals::plus));
+        }
+        return result;
+    }
+
+    public void clear() {
+        afterCommit(days::clear);
+    }
+
+    /**
+     * Rebuilds from {@code bookings} once the current transaction commits, for changes that
+     * regroup history such as renaming a flight's airline.
+     */
+    public void reload() {
+        afterCommit(this::load);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ensureLoaded();
+    }
+
+    /**
+     * Rebuilds every rollup from {@code bookings}.
+     */
+    public void load() {
+        rebuildTransaction.executeWithoutResult(status -> {
+            rebuildLock.writeLock().lock();
+            try {
+                days.clear();
+                for (BookingRollupView row : bookingRepo.summarizeByAirlineAndDay()) {
+                    days.computeIfAbsent(row.getDay(), d -> new ConcurrentHashMap<>())
+                            .put(row.getAirlineName(), new Totals(row.getBookings(), row.getRevenue()));
+                }
+                loaded = true;
+                log.info("Booking rollups loaded for {} days", days.size());
+            } finally {
+                rebuildLock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void onCommit(String airline, LocalDate day, long count, BigDecimal revenue) {
+        ensureLoaded();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuildLock.readLock().lock();
+            try {
+                add(airline, day, count, revenue);
+            } finally {
+                rebuildLock.readLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public int getOrder() {
+                // Releases the lock before any later callback of this transaction can rebuild
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                rebuildLock.readLock().lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                try {
+                    add(airline, day, count, revenue);
+                } finally {
+                    unlock();
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                unlock();
+            }
+
+            private void unlock() {
+                if (locked) {
+                    locked = false;
+                    rebuildLock.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    // Callers hold the read lock
+    private void add(String airline, LocalDate day, long count, BigDecimal revenue) {
+        Totals change = new Totals(count, revenue);
+        // compute rather than merge, so a first entry that is not positive is dropped too
+        days.computeIfAbsent(day, d -> new ConcurrentHashMap<>())
+                .compute(airline, (a, current) -> {
+                    Totals sum = current == null ? change : current.plus(change);
+                    return sum.getBookings() > 0 ? sum : null;
+                });
+    }
+
+    private String airlineOf(long flightId) {
+        String airline = airlineByFlight.get(flightId);
+        if (airline == null) {
+            airline = flightRepo.findAirlineNameById(flightId).orElse(null);
+            if (airline != null) {
+                airlineByFlight.putIfAbsent(flightId, airline);
+            }
+        }
+        return airline;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    load();
+                }
+            }
+        }
+    }
+
+    public static final class Totals {
+        static final Totals ZERO = new Totals(0, BigDecimal.ZERO);
+
+        private final long bookings;
+        private final BigDecimal revenue;
+
+        public Totals(long bookings, BigDecimal revenue) {
+            this.bookings = bookings;
+            this.revenue = revenue;
+        }
+
+        public long getBookings() { return bookings; }
+        public BigDecimal getRevenue() { return revenue; }
+
+        Totals plus(Totals other) {
+            return new Totals(bookings + other.bookings, revenue.add(other.revenue));
+        }
+    }
+}
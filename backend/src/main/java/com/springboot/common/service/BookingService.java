@@ -1,18 +1,43 @@
 package com.springboot.common.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
+import com.springboot.common.dto.BatchBookingResponseDTO;
+import com.springboot.common.dto.BatchCancellationResponseDTO;
 import com.springboot.common.dto.BookingDTO;
 import com.springboot.common.dto.BookingRequestDTO;
+import com.springboot.common.dto.PageDTO;
 
 public interface BookingService {
     BookingDTO createBooking(BookingRequestDTO request);
 
+    /**
+     * Books at most once per {@code idempotencyKey}: repeating a request with the same key returns
+     * the booking the first one made.
+     */
+    BookingDTO createBooking(BookingRequestDTO request, String idempotencyKey);
+
+    BatchBookingResponseDTO createBookings(List<BookingRequestDTO> requests);
+
     List<BookingDTO> getBookingsByCustomer(Long customerId);
 
     void cancelBooking(Long bookingId);
 
-    List<BookingDTO> findAllBookings();
+    /**
+     * Cancels the given bookings together, returning their seats with one update per flight. Ids
+     * that match no booking are reported back rather than failing the batch.
+     */
+    BatchCancellationResponseDTO cancelBookings(List<Long> bookingIds);
+
+    PageDTO<BookingDTO> listBookings(String after, Integer limit);
+
+    void streamBookings(Consumer<BookingDTO> sink);
 
-    void cancelAllBookings();
+    /**
+     * Cancels every booking and returns the seats to their flights, a chunk at a time.
+     *
+     * @return the number of bookings cancelled
+     */
+    long cancelAllBookings();
 }
\ No newline at end of file
@@ -1,91 +1,379 @@
 package com.springboot.common.service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.springboot.common.dto.BatchBookingResponseDTO;
+import com.springboot.common.dto.BatchCancellationResponseDTO;
 import com.springboot.common.dto.BookingDTO;
 import com.springboot.common.dto.BookingRequestDTO;
+import com.springboot.common.dto.BookingResultDTO;
+import com.springboot.common.dto.PageDTO;
 import com.springboot.common.model.Booking;
 import com.springboot.common.model.Customer;
 import com.springboot.common.model.Flight;
+import com.springboot.common.repository.BookingListView;
 import com.springboot.common.repository.BookingRepository;
+import com.springboot.common.repository.BookingSummaryView;
 import com.springboot.common.repository.CustomerRepository;
 import com.springboot.common.repository.FlightRepository;
+import com.springboot.common.util.IdempotencyStore;
+import com.springboot.common.util.KeysetCursor;
+
+import static com.springboot.common.util.TransactionCallbacks.afterCommit;
 
 @Service
+@Timed(value = "booking.service", histogram = true)
 public class BookingServiceImpl implements BookingService {
+    static final int MAX_BATCH_SIZE = 1000;
+    static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+    static final int CANCEL_CHUNK_SIZE = 5000;
+
+    private static final Logger log = LoggerFactory.getLogger(BookingServiceImpl.class);
+
     private final BookingRepository bookingRepo;
     private final FlightRepository flightRepo;
     private final CustomerRepository customerRepo;
+    private final SeatInventory inventory;
+    private final BookingRollupStore rollups;
+    private final TransactionTemplate inTransaction;
+    private final IdempotencyStore<BookingDTO> idempotency;
+
+    private final Counter booked;
+    private final Counter soldOut;
+    private final Counter flightNotFound;
+    private final Counter customerNotFound;
+    private final Counter seatConflicts;
 
     public BookingServiceImpl(BookingRepository bookingRepo,
             FlightRepository flightRepo,
-            CustomerRepository customerRepo) {
+            CustomerRepository customerRepo,
+            SeatInventory inventory,
+            BookingRollupStore rollups,
+            MeterRegistry meters,
+            PlatformTransactionManager transactionManager,
+            @Value("${booking.idempotency.max-keys:100000}") int idempotencyMaxKeys,
+            @Value("${booking.idempotency.ttl-seconds:86400}") long idempotencyTtlSeconds) {
         this.bookingRepo = bookingRepo;
         this.flightRepo = flightRepo;
         this.customerRepo = customerRepo;
+        this.inventory = inventory;
+        this.rollups = rollups;
+        this.inTransaction = new TransactionTemplate(transactionManager);
+        this.idempotency = new IdempotencyStore<>(idempotencyMaxKeys, idempotencyTtlSeconds, TimeUnit.SECONDS);
+        this.booked = Counter.builder("bookings.created")
+                .description("Bookings made, one per seat")
+                .register(meters);
+        this.soldOut = rejections(meters, "sold_out");
+        this.flightNotFound = rejections(meters, "flight_not_found");
+        this.customerNotFound = rejections(meters, "customer_not_found");
+        this.seatConflicts = Counter.builder("bookings.seat.conflicts")
+                .description("Seats the in-memory inventory granted but the database had already sold")
+                .register(meters);
+    }
+
+    private static Counter rejections(MeterRegistry meters, String reason) {
+        return Counter.builder("bookings.rejected")
+                .description("Booking requests turned away, by reason")
+                .tag("reason", reason)
+                .register(meters);
     }
 
     @Override
     @Transactional
     public BookingDTO createBooking(BookingRequestDTO req) {
-        Flight f = flightRepo.findById(req.getFlightId())
-                .orElseThrow(() -> new RuntimeException("Flight not found"));
+        return book(req, null);
+    }
+
+    @Override
+    public BookingDTO createBooking(BookingRequestDTO req, String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        // A replay is answered from memory, or from the bookings row after a restart, and never
+        // claims a seat
+        BookingDTO dto = idempotency.execute(idempotencyKey, () -> bookOnce(req, idempotencyKey));
+        if (!Objects.equals(dto.getFlightId(), req.getFlightId())
+                || !Objects.equals(dto.getCustomerId(), req.getCustomerId())) {
+            throw new RuntimeException("Idempotency key was already used for a different booking");
+        }
+        return dto;
+    }
 
-        // Check if seats are available
-        if (f.getAvailableSeats() <= 0) {
+    private BookingDTO bookOnce(BookingRequestDTO req, String idempotencyKey) {
+        Optional<BookingDTO> earlier = findByIdempotencyKey(idempotencyKey);
+        if (earlier.isPresent()) {
+            return earlier.get();
+        }
+        try {
+            return inTransaction.execute(status -> book(req, idempotencyKey));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance booked under this key first; its transaction won the unique key
+            return findByIdempotencyKey(idempotencyKey).orElseThrow(() -> e);
+        }
+    }
+
+    private Optional<BookingDTO> findByIdempotencyKey(String idempotencyKey) {
+        return bookingRepo.findListByIdempotencyKey(idempotencyKey)
+                .map(b -> new BookingDTO(b.getId(), b.getFlightId(), b.getCustomerId(), b.getPrice(), b.getBookingDate()));
+    }
+
+    private BookingDTO book(BookingRequestDTO req, String idempotencyKey) {
+        // Claim the seat in memory first so sold-out and unknown flights never reach the database;
+        // the seat goes back automatically if this transaction rolls back
+        SeatInventory.Outcome outcome = req.getFlightId() == null
+                ? SeatInventory.Outcome.NOT_FOUND
+                : inventory.reserve(req.getFlightId());
+        if (outcome == SeatInventory.Outcome.NOT_FOUND) {
+            flightNotFound.increment();
+            throw new RuntimeException("Flight not found");
+        }
+        if (outcome == SeatInventory.Outcome.SOLD_OUT) {
+            soldOut.increment();
             throw new RuntimeException("No seats available for this flight");
         }
 
-        Customer c = customerRepo.findById(req.getCustomerId())
-                .orElseThrow(() -> new RuntimeException("Customer not found"));
+        Customer c = customerRepo.findById(req.getCustomerId()).orElse(null);
+        if (c == null) {
+            customerNotFound.increment();
+            throw new RuntimeException("Customer not found");
+        }
 
-        // Book a seat on the flight
-        f.bookSeat();
-        flightRepo.save(f);
+        // One conditional UPDATE claims the seat; the database has the final word if another
+        // instance sold it first
+        if (flightRepo.claimSeat(req.getFlightId()) == 0) {
+            seatConflicts.increment();
+            soldOut.increment();
+            inventory.resync(req.getFlightId());
+            throw new RuntimeException("No seats available for this flight");
+        }
+        Flight f = flightRepo.getReferenceById(req.getFlightId());
 
         Booking b = new Booking(f, c, req.getPrice());
+        b.setIdempotencyKey(idempotencyKey);
         b = bookingRepo.save(b);
+        rollups.recordBookings(f.getId(), b.getBookingDate(), 1, b.getPrice());
+        booked.increment();
         return new BookingDTO(b.getId(), f.getId(), c.getId(), b.getPrice(), b.getBookingDate());
     }
 
+    @Override
+    @Transactional
+    public BatchBookingResponseDTO createBookings(List<BookingRequestDTO> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("Batch exceeds " + MAX_BATCH_SIZE + " bookings");
+        }
+        BookingResultDTO[] results = new BookingResultDTO[requests.size()];
+
+        // One query validates every customer in the batch
+        Set<Long> customerIds = requests.stream()
+                .map(BookingRequestDTO::getCustomerId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> knownCustomers = new HashSet<>();
+        customerRepo.findAllById(customerIds).forEach(c -> knownCustomers.add(c.getId()));
+
+        Map<Long, List<Integer>> itemsByFlight = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BookingRequestDTO req = requests.get(i);
+            if (req.getFlightId() == null) {
+                results[i] = new BookingResultDTO(i, BookingResultDTO.Status.FLIGHT_NOT_FOUND, null);
+            } else if (!knownCustomers.contains(req.getCustomerId())) {
+                results[i] = new BookingResultDTO(i, BookingResultDTO.Status.CUSTOMER_NOT_FOUND, null);
+            } else {
+                itemsByFlight.computeIfAbsent(req.getFlightId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        // One seat-claim statement per flight; items beyond the seats left are reported sold out
+        List<Booking> bookings = new ArrayList<>();
+        List<Integer> bookedItems = new ArrayList<>();
+        for (Map.Entry<Long, List<Integer>> entry : itemsByFlight.entrySet()) {
+            Long flightId = entry.getKey();
+            List<Integer> items = entry.getValue();
+            int granted = inventory.reserveUpTo(flightId, items.size());
+            if (granted == SeatInventory.UNKNOWN_FLIGHT) {
+                items.forEach(i -> results[i] = new BookingResultDTO(i, BookingResultDTO.Status.FLIGHT_NOT_FOUND, null));
+                continue;
+            }
+            if (granted > 0 && flightRepo.claimSeats(flightId, granted) == 0) {
+                seatConflicts.increment(granted);
+                inventory.release(flightId, granted);
+                inventory.resync(flightId);
+                granted = 0;
+            }
+            Flight f = flightRepo.getReferenceById(flightId);
+            for (int n = 0; n < items.size(); n++) {
+                int i = items.get(n);
+                if (n < granted) {
+                    BookingRequestDTO req = requests.get(i);
+                    bookings.add(new Booking(f, customerRepo.getReferenceById(req.getCustomerId()), req.getPrice()));
+                    bookedItems.add(i);
+                } else {
+                    results[i] = new BookingResultDTO(i, BookingResultDTO.Status.SOLD_OUT, null);
+                }
+            }
+        }
+
+        // Sequence-generated ids let Hibernate send these as JDBC batches
+        List<Booking> saved = bookingRepo.saveAll(bookings);
+        for (int n = 0; n < saved.size(); n++) {
+            Booking b = saved.get(n);
+            int i = bookedItems.get(n);
+            rollups.recordBookings(b.getFlight().getId(), b.getBookingDate(), 1, b.getPrice());
+            results[i] = new BookingResultDTO(i, BookingResultDTO.Status.BOOKED, new BookingDTO(b.getId(),
+                    b.getFlight().getId(), b.getCustomer().getId(), b.getPrice(), b.getBookingDate()));
+        }
+        for (BookingResultDTO result : results) {
+            switch (result.getStatus()) {
+                case BOOKED -> booked.increment();
+                case SOLD_OUT -> soldOut.increment();
+                case FLIGHT_NOT_FOUND -> flightNotFound.increment();
+                case CUSTOMER_NOT_FOUND -> customerNotFound.increment();
+            }
+        }
+        return new BatchBookingResponseDTO(requests.size(), saved.size(), List.of(results));
+    }
+
     @Override
     public List<BookingDTO> getBookingsByCustomer(Long customerId) {
-        return bookingRepo.findByCustomerId(customerId).stream()
-                .map(b -> new BookingDTO(b.getId(), b.getFlight().getId(), b.getCustomer().getId(),
-                        b.getPrice(), b.getBookingDate()))
+        return bookingRepo.findListByCustomerId(customerId).stream()
+                .map(b -> new BookingDTO(b.getId(), b.getFlightId(), b.getCustomerId(), b.getPrice(), b.getBookingDate()))
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional
     public void cancelBooking(Long bookingId) {
-        Booking booking = bookingRepo.findById(bookingId)
+        BookingSummaryView booking = bookingRepo.findSummaryById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
+        Long flightId = booking.getFlightId();
 
-        // Cancel a seat on the flight (this will handle the case where bookedSeats is
-        // 0)
-        Flight flight = booking.getFlight();
-        flight.cancelSeat();
-        flightRepo.save(flight);
+        // A concurrent cancel may have deleted the row since it was read; only the one whose
+        // delete lands gives the seat back
+        if (bookingRepo.deleteBookingById(bookingId) == 0) {
+            throw new RuntimeException("Booking not found");
+        }
+        flightRepo.releaseSeat(flightId);
+        // The seat is returned to the inventory once the delete commits
+        inventory.release(flightId);
+        rollups.recordCancellation(booking.getAirlineName(), booking.getBookingDate(), booking.getPrice());
+    }
 
-        bookingRepo.deleteById(bookingId);
+    @Override
+    @Transactional
+    public BatchCancellationResponseDTO cancelBookings(List<Long> bookingIds) {
+        if (bookingIds.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("Batch exceeds " + MAX_BATCH_SIZE + " bookings");
+        }
+        Set<Long> ids = bookingIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.isEmpty()) {
+            return new BatchCancellationResponseDTO(bookingIds.size(), 0, List.of());
+        }
+
+        // One locking read finds the bookings, one statement deletes them, and each flight is updated
+        // once; seats are released only for the rows this transaction locked and deleted
+        List<BookingSummaryView> bookings = bookingRepo.findSummariesByIdIn(ids);
+        bookingRepo.deleteBookingsByIdIn(ids);
+        Map<Long, Integer> seatsByFlight = new LinkedHashMap<>();
+        Set<Long> notFound = new LinkedHashSet<>(ids);
+        for (BookingSummaryView b : bookings) {
+            seatsByFlight.merge(b.getFlightId(), 1, Integer::sum);
+            rollups.recordCancellation(b.getAirlineName(), b.getBookingDate(), b.getPrice());
+            notFound.remove(b.getId());
+        }
+        seatsByFlight.forEach((flightId, seats) -> {
+            if (flightRepo.releaseSeats(flightId, seats) == 0) {
+                // The database changed nothing, so take its counters rather than freeing seats in memory
+                inventory.resync(flightId);
+            } else {
+                inventory.release(flightId, seats);
+            }
+        });
+        return new BatchCancellationResponseDTO(bookingIds.size(), bookings.size(), new ArrayList<>(notFound));
     }
 
     @Override
-    public List<BookingDTO> findAllBookings() {
-        return bookingRepo.findAll().stream()
-                .map(b -> new BookingDTO(b.getId(), b.getFlight().getId(), b.getCustomer().getId(),
-                        b.getPrice(), b.getBookingDate()))
+    public PageDTO<BookingDTO> listBookings(String after, Integer limit) {
+        int size = KeysetCursor.pageSize(limit);
+        List<BookingDTO> rows = bookingRepo.findPageAfter(KeysetCursor.decode(after), KeysetCursor.fetchLimit(size))
+                .stream()
+                .map(b -> new BookingDTO(b.getId(), b.getFlightId(), b.getCustomerId(), b.getPrice(), b.getBookingDate()))
                 .collect(Collectors.toList());
+        return KeysetCursor.page(rows, size, BookingDTO::getId);
     }
 
     @Override
-    @Transactional
-    public void cancelAllBookings() {
-        bookingRepo.deleteAll();
+    @Transactional(readOnly = true)
+    public void streamBookings(Consumer<BookingDTO> sink) {
+        // Rows are handed on as they are read, so memory stays flat however many bookings there are
+        try (Stream<BookingListView> rows = bookingRepo.streamAll()) {
+            rows.forEach(b -> sink.accept(
+                    new BookingDTO(b.getId(), b.getFlightId(), b.getCustomerId(), b.getPrice(), b.getBookingDate())));
+        }
+    }
+
+    @Override
+    public long cancelAllBookings() {
+        // Each chunk of bookings goes in its own short transaction: one grouped UPDATE gives the seats
+        // back, one DELETE removes the rows, and nothing is loaded as entities
+        long cancelled = 0;
+        long after = 0;
+        while (true) {
+            List<Long> ids = bookingRepo.findIdsAfter(after, Limit.of(CANCEL_CHUNK_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            long from = after;
+            long upTo = ids.get(ids.size() - 1);
+            Integer deleted = inTransaction.execute(status -> {
+                // A locking read, so the seats counted are the rows the statements below act on
+                List<Long> flightIds = bookingRepo.lockFlightIdsBetween(from, upTo);
+                flightRepo.releaseSeatsOfBookingsBetween(from, upTo);
+                int rows = bookingRepo.deleteBetween(from, upTo);
+                if (rows == flightIds.size()) {
+                    Map<Long, Integer> seatsByFlight = new LinkedHashMap<>();
+                    flightIds.forEach(flightId -> seatsByFlight.merge(flightId, 1, Integer::sum));
+                    seatsByFlight.forEach(inventory::release);
+                } else {
+                    // A booking landed in the range after the lock, which isolation levels without
+                    // gap locks allow; its flight is unknown here, so every counter is re-read
+                    afterCommit(inventory::load);
+                }
+                return rows;
+            });
+            cancelled += deleted;
+            after = upTo;
+            log.info("Cancelling all bookings: {} cancelled so far", cancelled);
+        }
+        rollups.reload();
+        return cancelled;
     }
 }
\ No newline at end of file
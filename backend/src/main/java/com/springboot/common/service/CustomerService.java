@@ -1,16 +1,31 @@
 package com.springboot.common.service;
 
+import java.io.Reader;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.springboot.common.dto.CustomerDTO;
+import com.springboot.common.dto.CustomerImportResultDTO;
+import com.springboot.common.dto.PageDTO;
 
 public interface CustomerService {
     CustomerDTO addCustomer(CustomerDTO dto);
 
-    List<CustomerDTO> getAllCustomers();
+    /**
+     * Adds the customers read from {@code source}, one per line: CSV with a header row naming the
+     * {@code name} and {@code email} columns, or NDJSON objects. Rows that cannot be added are
+     * reported back with their line numbers; the rest are imported regardless.
+     */
+    CustomerImportResultDTO importCustomers(Reader source, ImportFormat format);
+
+    PageDTO<CustomerDTO> listCustomers(String after, Integer limit);
 
     Optional<CustomerDTO> getCustomerById(Long id);
 
+    Optional<CustomerDTO> getCustomerByEmail(String email);
+
+    Map<Long, CustomerDTO> getCustomersByIds(List<Long> ids);
+
     void deleteCustomer(Long id);
 }
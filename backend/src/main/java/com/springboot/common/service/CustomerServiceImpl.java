@@ -1,35 +1,124 @@
 package com.springboot.common.service;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import io.micrometer.core.annotation.Timed;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.springboot.common.dto.CustomerDTO;
+import com.springboot.common.dto.CustomerImportResultDTO;
+import com.springboot.common.dto.PageDTO;
 import com.springboot.common.model.Customer;
 import com.springboot.common.repository.CustomerRepository;
+import com.springboot.common.util.CsvFields;
+import com.springboot.common.util.ExpiringLruCache;
+import com.springboot.common.util.IdBatches;
+import com.springboot.common.util.KeysetCursor;
+
+import static com.springboot.common.util.TransactionCallbacks.afterCommit;
 
 @Service
+@Timed(value = "customer.service", histogram = true)
 public class CustomerServiceImpl implements CustomerService {
+    static final int IMPORT_BATCH_SIZE = 1000;
+    static final int MAX_REPORTED_REJECTS = 1000;
+
     private final CustomerRepository repo;
+    private final ObjectMapper mapper;
+    private final TransactionTemplate inTransaction;
+    // Lookups by email, misses included, keyed by emailKey(); every add, import and delete drops the
+    // emails it touches
+    private final ExpiringLruCache<String, Optional<CustomerDTO>> byEmail;
 
-    public CustomerServiceImpl(CustomerRepository repo) {
+    public CustomerServiceImpl(CustomerRepository repo, ObjectMapper mapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${customers.email-cache.max-entries:10000}") int emailCacheMaxEntries,
+            @Value("${customers.email-cache.ttl-seconds:300}") long emailCacheTtlSeconds) {
         this.repo = repo;
+        this.mapper = mapper;
+        this.inTransaction = new TransactionTemplate(transactionManager);
+        this.byEmail = new ExpiringLruCache<>(emailCacheMaxEntries, emailCacheTtlSeconds, TimeUnit.SECONDS);
     }
 
     @Override
     public CustomerDTO addCustomer(CustomerDTO dto) {
-        Customer c = new Customer(dto.getName(), dto.getEmail());
+        // Stored trimmed, as imports store them, so lookups and the unique index see one spelling
+        Customer c = new Customer(trimToNull(dto.getName()), trimToNull(dto.getEmail()));
         c = repo.save(c);
+        String key = emailKey(c.getEmail());
+        afterCommit(() -> byEmail.invalidate(key));
         return new CustomerDTO(c.getId(), c.getName(), c.getEmail());
     }
 
     @Override
-    public List<CustomerDTO> getAllCustomers() {
-        return repo.findAll().stream()
+    public CustomerImportResultDTO importCustomers(Reader source, ImportFormat format) {
+        // Rows are parsed as they arrive and inserted a batch at a time, each batch in its own
+        // transaction, so memory stays flat however large the file is
+        ImportRun run = new ImportRun();
+        try (BufferedReader reader = new BufferedReader(source)) {
+            long lineNumber = 1;
+            String line = reader.readLine();
+            Map<String, Integer> columns = null;
+            if (format == ImportFormat.CSV) {
+                if (line == null) {
+                    throw new RuntimeException("CSV import needs a header row");
+                }
+                columns = CsvFields.columns(line, "name", "email");
+                line = reader.readLine();
+                lineNumber++;
+            }
+            for (; line != null; line = reader.readLine(), lineNumber++) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                CustomerDTO row;
+                try {
+                    row = format == ImportFormat.CSV
+                            ? csvRow(CsvFields.split(line), columns)
+                            : mapper.readValue(line, CustomerDTO.class);
+                } catch (IllegalArgumentException | JsonProcessingException e) {
+                    run.rows++;
+                    run.reject(lineNumber, null, "malformed row");
+                    continue;
+                }
+                run.add(lineNumber, row);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        run.flush();
+        return new CustomerImportResultDTO(run.rows, run.imported, run.rejected, run.rejects);
+    }
+
+    @Override
+    public PageDTO<CustomerDTO> listCustomers(String after, Integer limit) {
+        int size = KeysetCursor.pageSize(limit);
+        List<CustomerDTO> rows = repo.findByIdGreaterThanOrderByIdAsc(KeysetCursor.decode(after), KeysetCursor.fetchLimit(size))
+                .stream()
                 .map(c -> new CustomerDTO(c.getId(), c.getName(), c.getEmail()))
                 .collect(Collectors.toList());
+        return KeysetCursor.page(rows, size, CustomerDTO::getId);
     }
 
     @Override
@@ -38,11 +127,129 @@ public class CustomerServiceImpl implements CustomerService {
                 .map(c -> new CustomerDTO(c.getId(), c.getName(), c.getEmail()));
     }
 
+    @Override
+    public Optional<CustomerDTO> getCustomerByEmail(String email) {
+        String trimmed = trimToNull(email);
+        if (trimmed == null) {
+            throw new RuntimeException("Email is required");
+        }
+        return byEmail.get(emailKey(trimmed), () -> repo.findByEmail(trimmed)
+                .map(c -> new CustomerDTO(c.getId(), c.getName(), c.getEmail())));
+    }
+
+    @Override
+    public Map<Long, CustomerDTO> getCustomersByIds(List<Long> ids) {
+        Map<Long, CustomerDTO> customers = new LinkedHashMap<>();
+        IdBatches.loadById(ids, repo::findAllById, Customer::getId)
+                .forEach((id, c) -> customers.put(id, new CustomerDTO(c.getId(), c.getName(), c.getEmail())));
+        return customers;
+    }
+
     @Override
     public void deleteCustomer(Long id) {
-        if (!repo.existsById(id)) {
-            throw new RuntimeException("Customer not found");
+        Customer c = repo.findById(id)
+                .orElseThrow(() -> new RuntimeException("Customer not found"));
+        repo.delete(c);
+        String key = emailKey(c.getEmail());
+        afterCommit(() -> byEmail.invalidate(key));
+    }
+
+    private static CustomerDTO csvRow(List<String> fields, Map<String, Integer> columns) {
+        return new CustomerDTO(null, CsvFields.field(fields, columns, "name"), CsvFields.field(fields, columns, "email"));
+    }
+
+    /**
+     * The email cache key. It folds case as the email column's collation does, so every spelling
+     * the unique index treats as one customer shares one entry.
+     */
+    private static String emailKey(String email) {
+        String trimmed = trimToNull(email);
+        return trimmed == null ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    private record PendingCustomer(long line, String name, String email) {}
+
+    private final class ImportRun {
+        long rows;
+        long imported;
+        long rejected;
+        final List<CustomerImportResultDTO.Reject> rejects = new ArrayList<>();
+        // The batch being built, by email; earlier batches are already committed and the unique
+        // index answers for them
+        final Map<String, PendingCustomer> pending = new LinkedHashMap<>();
+
+        void add(long line, CustomerDTO row) {
+            rows++;
+            String name = trimToNull(row.getName());
+            String email = trimToNull(row.getEmail());
+            if (name == null) {
+                reject(line, email, "name is required");
+            } else if (email == null || email.indexOf('@') < 1) {
+                reject(line, email, "email is invalid");
+            } else if (pending.containsKey(email)) {
+                reject(line, email, "email appears earlier in the import");
+            } else {
+                pending.put(email, new PendingCustomer(line, name, email));
+                if (pending.size() >= IMPORT_BATCH_SIZE) {
+                    flush();
+                }
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                settle(pending.values(), inTransaction.execute(status -> insert(pending.values())));
+            } catch (DataIntegrityViolationException e) {
+                // Another writer registered one of these emails after the check, or a row breaks
+                // some other constraint; going row by row rejects just that one
+                for (PendingCustomer p : pending.values()) {
+                    try {
+                        settle(List.of(p), inTransaction.execute(status -> insert(List.of(p))));
+                    } catch (DataIntegrityViolationException failed) {
+                        reject(p.line(), p.email(), repo.findExistingEmails(List.of(p.email())).isEmpty()
+                                ? failed.getMostSpecificCause().getMessage()
+                                : "email already registered");
+                    }
+                }
+            }
+            pending.clear();
+        }
+
+        private Set<String> insert(Collection<PendingCustomer> batch) {
+            Set<String> taken = repo.findExistingEmails(batch.stream().map(PendingCustomer::email).toList());
+            repo.saveAllAndFlush(batch.stream()
+                    .filter(p -> !taken.contains(p.email()))
+                    .map(p -> new Customer(p.name(), p.email()))
+                    .toList());
+            return taken;
+        }
+
+        private void settle(Collection<PendingCustomer> batch, Set<String> taken) {
+            for (PendingCustomer p : batch) {
+                if (taken.contains(p.email())) {
+                    reject(p.line(), p.email(), "email already registered");
+                } else {
+                    imported++;
+                    byEmail.invalidate(emailKey(p.email()));
+                }
+            }
+        }
+
+        void reject(long line, String email, String reason) {
+            rejected++;
+            if (rejects.size() < MAX_REPORTED_REJECTS) {
+                rejects.add(new CustomerImportResultDTO.Reject(line, email, reason));
+            }
         }
-        repo.deleteById(id);
     }
 }
@@ -0,0 +1,322 @@
+package com.springboot.common.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.springboot.common.dto.FareDayDTO;
+import com.springboot.common.dto.FlightDTO;
+import com.springboot.common.repository.FlightListingView;
+import com.springboot.common.repository.FlightRepository;
+
+import static com.springboot.common.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Every flight's schedule, kept in memory by day and then by airline, each airline's flights for
+ * a day ordered cheapest first. A search merges the price-ordered lists of the days (and airline)
+ * asked for, so it stops after the cheapest matches instead of scanning every flight in range.
+ * Built from {@code flights} at startup and then moved by every flight change once it commits;
+ * seat counts come live from {@link SeatInventory}.
+ *
+ * Each day also caches its fare-calendar summary (lowest bookable fare, seats left), overall and
+ * per airline. Flight changes and every seat claim or release on the day mark it stale, so a month
+ * view reads at most 31 summaries and only recomputes the days that changed since it was last shown.
+ */
+@Component
+public class FlightSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(FlightSearchIndex.class);
+
+    public static final int DEFAULT_RESULTS = 20;
+    public static final int MAX_RESULTS = 100;
+
+    private static final String ALL_AIRLINES = "";
+
+    private static final Comparator<Listing> CHEAPEST_FIRST = Comparator.comparing(Listing::price)
+            .thenComparing(Listing::date)
+            .thenComparingLong(Listing::id);
+
+    private final FlightRepository flightRepo;
+    private final SeatInventory inventory;
+
+    // Guarded by lock
+    private final NavigableMap<LocalDate, Day> days = new TreeMap<>();
+    private final Map<Long, Listing> byId = new HashMap<>();
+    // Written under the write lock; read without it by seat-change callbacks on the booking path
+    private final ConcurrentHashMap<Long, Day> dayByFlight = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    public FlightSearchIndex(FlightRepository flightRepo, SeatInventory inventory) {
+        this.flightRepo = flightRepo;
+        this.inventory = inventory;
+        inventory.addChangeListener(this::seatsChanged);
+    }
+
+    /**
+     * Indexes a new or changed flight once the current transaction commits.
+     */
+    public void flightSaved(long flightId, String airline, int totalSeats, LocalDate date, BigDecimal price) {
+        Listing listing = new Listing(flightId, airline, totalSeats, date, price);
+        afterCommit(() -> {
+            ensureLoaded();
+            lock.writeLock().lock();
+            try {
+                removeLocked(flightId);
+                putLocked(listing);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void flightDeleted(long flightId) {
+        afterCommit(() -> {
+            ensureLoaded();
+            lock.writeLock().lock();
+            try {
+                removeLocked(flightId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * The cheapest flights dated within {@code [from, to]} ({@code to} may be null for no end)
+     * that match the optional airline and price cap and have at least {@code minSeats} left.
+     */
+    public List<FlightDTO> search(LocalDate from, LocalDate to, String airline, BigDecimal maxPrice, int minSeats,
+            int limit) {
+        ensureLoaded();
+        List<FlightDTO> results = new ArrayList<>();
+        if (to != null && to.isBefore(from)) {
+            return results;
+        }
+        String airlineKey = airline == null ? null : key(airline);
+        lock.readLock().lock();
+        try {
+            PriorityQueue<Cursor> heads = new PriorityQueue<>(Comparator.comparing((Cursor c) -> c.head, CHEAPEST_FIRST));
+            NavigableMap<LocalDate, Day> range = to == null ? days.tailMap(from, true) : days.subMap(from, true, to, true);
+            for (Day day : range.values()) {
+                if (airlineKey == null) {
+                    day.airlines.values().forEach(listings -> Cursor.open(listings, heads));
+                } else if (day.airlines.containsKey(airlineKey)) {
+                    Cursor.open(day.airlines.get(airlineKey), heads);
+                }
+            }
+            while (results.size() < limit && !heads.isEmpty()) {
+                Cursor cursor = heads.poll();
+                Listing l = cursor.head;
+                if (maxPrice != null && l.price().compareTo(maxPrice) > 0) {
+                    // Everything still queued costs at least as much
+                    break;
+                }
+                int available = inventory.available(l.id());
+                if (available >= minSeats) {
+                    results.add(new FlightDTO(l.id(), l.airline(), l.totalSeats(), available, l.date(), l.price()));
+                }
+                if (cursor.advance()) {
+                    heads.add(cursor);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return results;
+    }
+
+    /**
+     * One entry per day of {@code month}: the lowest fare among flights with seats left, the seats
+     * left across them, and the number of flights, optionally for a single airline.
+     */
+    public List<FareDayDTO> fareCalendar(YearMonth month, String airline) {
+        ensureLoaded();
+        String airlineKey = airline == null ? ALL_AIRLINES : key(airline);
+        List<FareDayDTO> calendar = new ArrayList<>(month.lengthOfMonth());
+        lock.readLock().lock();
+        try {
+            for (int d = 1; d <= month.lengthOfMonth(); d++) {
+                LocalDate date = month.atDay(d);
+                Day day = days.get(date);
+                Summary summary = day == null ? Summary.EMPTY : day.summary(airlineKey, inventory);
+                calendar.add(new FareDayDTO(date, summary.lowestFare, summary.seats, summary.flights));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return calendar;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ensureLoaded();
+    }
+
+    /**
+     * Rebuilds the index from {@code flights}.
+     */
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            days.clear();
+            byId.clear();
+            dayByFlight.clear();
+            for (FlightListingView f : flightRepo.findAllListings()) {
+                putLocked(new Listing(f.getId(), f.getAirlineName(), f.getTotalSeats(), f.getFlightDate(), f.getPrice()));
+            }
+            loaded = true;
+            log.info("Flight search index loaded for {} flights", byId.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putLocked(Listing listing) {
+        byId.put(listing.id(), listing);
+        Day day = days.computeIfAbsent(listing.date(), d -> new Day());
+        day.airlines.computeIfAbsent(key(listing.airline()), a -> new TreeSet<>(CHEAPEST_FIRST)).add(listing);
+        day.version.incrementAndGet();
+        dayByFlight.put(listing.id(), day);
+    }
+
+    private void removeLocked(long flightId) {
+        Listing old = byId.remove(flightId);
+        if (old == null) {
+            return;
+        }
+        dayByFlight.remove(flightId);
+        Day day = days.get(old.date());
+        NavigableSet<Listing> listings = day.airlines.get(key(old.airline()));
+        listings.remove(old);
+        day.version.incrementAndGet();
+        if (listings.isEmpty()) {
+            day.airlines.remove(key(old.airline()));
+            if (day.airlines.isEmpty()) {
+                days.remove(old.date());
+            }
+        }
+    }
+
+    private void seatsChanged(long flightId) {
+        Day day = dayByFlight.get(flightId);
+        if (day != null) {
+            day.version.incrementAndGet();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    load();
+                }
+            }
+        }
+    }
+
+    private static String key(String airline) {
+        return airline.toLowerCase(Locale.ROOT);
+    }
+
+    private record Listing(long id, String airline, int totalSeats, LocalDate date, BigDecimal price) {}
+
+    private static final class Day {
+        // Lower-cased airline -> that airline's flights on the day, cheapest first
+        final Map<String, NavigableSet<Listing>> airlines = new HashMap<>();
+        // Bumped by every flight or seat change on the day; a summary from an older version is stale
+        final AtomicLong version = new AtomicLong();
+        final ConcurrentHashMap<String, Summary> summaries = new ConcurrentHashMap<>();
+
+        // Called under the read lock, so the listings cannot change underneath
+        Summary summary(String airlineKey, SeatInventory inventory) {
+            long current = version.get();
+            Summary cached = summaries.get(airlineKey);
+            if (cached != null && cached.version == current) {
+                return cached;
+            }
+            BigDecimal lowestFare = null;
+            int seats = 0;
+            int flights = 0;
+            for (Map.Entry<String, NavigableSet<Listing>> airline : airlines.entrySet()) {
+                if (!airlineKey.equals(ALL_AIRLINES) && !airlineKey.equals(airline.getKey())) {
+                    continue;
+                }
+                for (Listing l : airline.getValue()) {
+                    flights++;
+                    int available = inventory.available(l.id());
+                    if (available > 0) {
+                        seats += available;
+                        if (lowestFare == null || l.price().compareTo(lowestFare) < 0) {
+                            lowestFare = l.price();
+                        }
+                    }
+                }
+            }
+            Summary fresh = new Summary(current, lowestFare, seats, flights);
+            summaries.put(airlineKey, fresh);
+            return fresh;
+        }
+    }
+
+    private static final class Summary {
+        static final Summary EMPTY = new Summary(0, null, 0, 0);
+
+        final long version;
+        final BigDecimal lowestFare;
+        final int seats;
+        final int flights;
+
+        Summary(long version, BigDecimal lowestFare, int seats, int flights) {
+            this.version = version;
+            this.lowestFare = lowestFare;
+            this.seats = seats;
+            this.flights = flights;
+        }
+    }
+
+    private static final class Cursor {
+        final Iterator<Listing> rest;
+        Listing head;
+
+        private Cursor(Iterator<Listing> rest) {
+            this.rest = rest;
+            this.head = rest.next();
+        }
+
+        static void open(NavigableSet<Listing> listings, PriorityQueue<Cursor> heads) {
+            if (!listings.isEmpty()) {
+                heads.add(new Cursor(listings.iterator()));
+            }
+        }
+
+        boolean advance() {
+            if (!rest.hasNext()) {
+                return false;
+            }
+            head = rest.next();
+            return true;
+        }
+    }
+}
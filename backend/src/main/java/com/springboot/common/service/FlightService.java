@@ -1,16 +1,37 @@
 package com.springboot.common.service;
 
+import java.io.Reader;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 
+import com.springboot.common.dto.FareDayDTO;
 import com.springboot.common.dto.FlightDTO;
+import com.springboot.common.dto.FlightImportResultDTO;
+import com.springboot.common.dto.PageDTO;
 
 public interface FlightService {
     FlightDTO addFlight(FlightDTO dto);
-    List<FlightDTO> listAll();
+
+    /**
+     * Upserts a published schedule read from {@code source}, one flight per line, keyed on airline,
+     * flight number and date: new flights are inserted, known ones get the row's seats and price.
+     * Rows that cannot be applied are reported back with their line numbers, along with how long
+     * the import took.
+     */
+    FlightImportResultDTO importFlights(Reader source, ImportFormat format);
+
+    PageDTO<FlightDTO> listFlights(String after, Integer limit);
     List<FlightDTO> getFlightsByDate(LocalDate date);
     List<FlightDTO> getFutureFlights(LocalDate fromDate);
+    List<FlightDTO> searchFlights(LocalDate from, LocalDate to, String airline, BigDecimal maxPrice, Integer minSeats,
+            Integer limit);
+    List<FareDayDTO> getFareCalendar(YearMonth month, String airline);
     FlightDTO updateFlight(Long id, FlightDTO dto);
     void deleteFlight(Long id);
     int checkAvailability(Long flightId);
+    Map<Long, FlightDTO> getFlightsByIds(List<Long> ids);
+    Map<Long, Integer> checkAvailability(List<Long> flightIds);
 }
\ No newline at end of file
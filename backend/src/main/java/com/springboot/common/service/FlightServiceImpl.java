@@ -1,53 +1,197 @@
 package com.springboot.common.service;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import io.micrometer.core.annotation.Timed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import com.springboot.common.dto.FareDayDTO;
 import com.springboot.common.dto.FlightDTO;
+import com.springboot.common.dto.FlightImportResultDTO;
+import com.springboot.common.dto.FlightScheduleRowDTO;
+import com.springboot.common.dto.PageDTO;
 import com.springboot.common.model.Flight;
 import com.springboot.common.repository.FlightRepository;
+import com.springboot.common.util.CsvFields;
+import com.springboot.common.util.ExpiringLruCache;
+import com.springboot.common.util.IdBatches;
+import com.springboot.common.util.KeysetCursor;
+
+import static com.springboot.common.util.TransactionCallbacks.afterCommit;
 
 @Service
+@Timed(value = "flight.service", histogram = true)
 public class FlightServiceImpl implements FlightService {
+    static final int IMPORT_BATCH_SIZE = 1000;
+    static final int MAX_REPORTED_REJECTS = 1000;
+    static final int MAX_FLIGHT_NUMBER_LENGTH = 16;
+    static final String SEATS_BELOW_BOOKED = "Total seats cannot be fewer than the seats already booked";
+
+    private static final Logger log = LoggerFactory.getLogger(FlightServiceImpl.class);
+
     private final FlightRepository repo;
-    public FlightServiceImpl(FlightRepository repo) { this.repo = repo; }
+    private final SeatInventory inventory;
+    private final SeatHoldService holds;
+    private final BookingRollupStore rollups;
+    private final FlightSearchIndex searchIndex;
+    private final ObjectMapper mapper;
+    private final TransactionTemplate inTransaction;
+
+    // Date searches cache the schedule only; seat counts are overlaid from the inventory on every read
+    private final ExpiringLruCache<ScheduleQuery, List<FlightDTO>> schedules;
+
+    public FlightServiceImpl(FlightRepository repo, SeatInventory inventory, SeatHoldService holds,
+            BookingRollupStore rollups, FlightSearchIndex searchIndex, ObjectMapper mapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${flights.schedule-cache.max-entries:512}") int scheduleCacheMaxEntries,
+            @Value("${flights.schedule-cache.ttl-seconds:300}") long scheduleCacheTtlSeconds) {
+        this.repo = repo;
+        this.inventory = inventory;
+        this.holds = holds;
+        this.rollups = rollups;
+        this.searchIndex = searchIndex;
+        this.mapper = mapper;
+        this.inTransaction = new TransactionTemplate(transactionManager);
+        this.schedules = new ExpiringLruCache<>(scheduleCacheMaxEntries, scheduleCacheTtlSeconds, TimeUnit.SECONDS);
+    }
 
     @Override
     public FlightDTO addFlight(FlightDTO dto) {
         Flight f = new Flight(dto.getAirlineName(), dto.getTotalSeats(), dto.getFlightDate(), dto.getPrice());
         f = repo.save(f);
-        return new FlightDTO(f.getId(), f.getAirlineName(), f.getTotalSeats(), f.getAvailableSeats(), f.getFlightDate(), f.getPrice());
+        inventory.register(f.getId(), f.getTotalSeats(), f.getBookedSeats());
+        rollups.flightSaved(f.getId(), f.getAirlineName());
+        searchIndex.flightSaved(f.getId(), f.getAirlineName(), f.getTotalSeats(), f.getFlightDate(), f.getPrice());
+        evictSchedules(f.getFlightDate());
+        return toDTO(f);
     }
 
     @Override
-    public List<FlightDTO> listAll() {
-        return repo.findAll().stream()
-            .map(f -> new FlightDTO(f.getId(), f.getAirlineName(), f.getTotalSeats(), f.getAvailableSeats(), f.getFlightDate(), f.getPrice()))
+    public FlightImportResultDTO importFlights(Reader source, ImportFormat format) {
+        // Rows are parsed as they arrive and upserted a batch at a time, each batch in its own
+        // transaction; only the current batch is held, so memory stays flat however long the
+        // schedule is
+        long started = System.nanoTime();
+        ScheduleImport run = new ScheduleImport();
+        try (BufferedReader reader = new BufferedReader(source)) {
+            long lineNumber = 1;
+            String line = reader.readLine();
+            Map<String, Integer> columns = null;
+            if (format == ImportFormat.CSV) {
+                if (line == null) {
+                    throw new RuntimeException("CSV import needs a header row");
+                }
+                columns = CsvFields.columns(line, "airlineName", "flightNumber", "flightDate", "totalSeats", "price");
+                line = reader.readLine();
+                lineNumber++;
+            }
+            for (; line != null; line = reader.readLine(), lineNumber++) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                FlightScheduleRowDTO row;
+                try {
+                    row = format == ImportFormat.CSV
+                        ? csvRow(CsvFields.split(line), columns)
+                        : mapper.readValue(line, FlightScheduleRowDTO.class);
+                } catch (IllegalArgumentException | DateTimeParseException | JsonProcessingException e) {
+                    run.rows++;
+                    run.reject(lineNumber, null, "malformed row");
+                    continue;
+                }
+                run.add(lineNumber, row);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        run.flush();
+
+        long elapsedNanos = Math.max(System.nanoTime() - started, 1);
+        double rowsPerSecond = run.rows * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        log.info("Schedule import: {} rows in {} ms ({} rows/s); {} inserted, {} updated, {} unchanged, {} rejected",
+            run.rows, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Math.round(rowsPerSecond), run.inserted,
+            run.updated, run.unchanged, run.rejected);
+        return new FlightImportResultDTO(run.rows, run.inserted, run.updated, run.unchanged, run.rejected,
+            TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond, run.rejects);
+    }
+
+    @Override
+    public PageDTO<FlightDTO> listFlights(String after, Integer limit) {
+        int size = KeysetCursor.pageSize(limit);
+        List<FlightDTO> rows = repo.findByIdGreaterThanOrderByIdAsc(KeysetCursor.decode(after), KeysetCursor.fetchLimit(size))
+            .stream()
+            .map(this::toDTO)
             .collect(Collectors.toList());
+        return KeysetCursor.page(rows, size, FlightDTO::getId);
     }
 
     @Override
     public List<FlightDTO> getFlightsByDate(LocalDate date) {
-        return repo.findByFlightDate(date).stream()
-            .map(f -> new FlightDTO(f.getId(), f.getAirlineName(), f.getTotalSeats(), f.getAvailableSeats(), f.getFlightDate(), f.getPrice()))
-            .collect(Collectors.toList());
+        return withLiveSeats(schedules.get(new ScheduleQuery(date, false),
+            () -> toSchedule(repo.findByFlightDate(date))));
     }
 
     @Override
     public List<FlightDTO> getFutureFlights(LocalDate fromDate) {
-        return repo.findByFlightDateGreaterThanEqual(fromDate).stream()
-            .map(f -> new FlightDTO(f.getId(), f.getAirlineName(), f.getTotalSeats(), f.getAvailableSeats(), f.getFlightDate(), f.getPrice()))
-            .collect(Collectors.toList());
+        // Keyed by the date asked for, so "from today" moves to a fresh entry at midnight
+        return withLiveSeats(schedules.get(new ScheduleQuery(fromDate, true),
+            () -> toSchedule(repo.findByFlightDateGreaterThanEqual(fromDate))));
     }
 
     @Override
+    public List<FlightDTO> searchFlights(LocalDate from, LocalDate to, String airline, BigDecimal maxPrice,
+            Integer minSeats, Integer limit) {
+        int results = limit == null ? FlightSearchIndex.DEFAULT_RESULTS : limit;
+        if (results < 1) {
+            throw new RuntimeException("Search limit must be at least 1");
+        }
+        return searchIndex.search(from == null ? LocalDate.now() : from, to, airline, maxPrice,
+            minSeats == null ? 1 : minSeats, Math.min(results, FlightSearchIndex.MAX_RESULTS));
+    }
+
+    @Override
+    public List<FareDayDTO> getFareCalendar(YearMonth month, String airline) {
+        return searchIndex.fareCalendar(month, airline);
+    }
+
+    @Override
+    @Transactional
     public FlightDTO updateFlight(Long id, FlightDTO dto) {
-        Flight flight = repo.findById(id)
+        // Locked, so no seat can be claimed between this check and the commit
+        Flight flight = repo.findForUpdateById(id)
             .orElseThrow(() -> new RuntimeException("Flight not found"));
+        if (dto.getTotalSeats() < flight.getBookedSeats()) {
+            throw new RuntimeException(SEATS_BELOW_BOOKED);
+        }
+        boolean renamed = !flight.getAirlineName().equals(dto.getAirlineName());
+        LocalDate previousDate = flight.getFlightDate();
         
         flight.setAirlineName(dto.getAirlineName());
         flight.setTotalSeats(dto.getTotalSeats());
@@ -55,21 +199,261 @@ public class FlightServiceImpl implements FlightService {
         flight.setPrice(dto.getPrice());
         
         flight = repo.save(flight);
-        return new FlightDTO(flight.getId(), flight.getAirlineName(), flight.getTotalSeats(), flight.getAvailableSeats(), flight.getFlightDate(), flight.getPrice());
+        long flightId = flight.getId();
+        int totalSeats = flight.getTotalSeats();
+        String airline = flight.getAirlineName();
+        afterCommit(() -> {
+            inventory.updateCapacity(flightId, totalSeats);
+            rollups.flightSaved(flightId, airline);
+            if (renamed) {
+                // Reports group bookings under the flight's current airline
+                rollups.load();
+            }
+        });
+        searchIndex.flightSaved(flight.getId(), flight.getAirlineName(), flight.getTotalSeats(), flight.getFlightDate(),
+            flight.getPrice());
+        evictSchedules(previousDate);
+        evictSchedules(flight.getFlightDate());
+        return toDTO(flight);
     }
 
     @Override
     public void deleteFlight(Long id) {
-        if (!repo.existsById(id)) {
-            throw new RuntimeException("Flight not found");
-        }
+        LocalDate date = repo.findFlightDateById(id)
+            .orElseThrow(() -> new RuntimeException("Flight not found"));
         repo.deleteById(id);
+        inventory.remove(id);
+        rollups.flightDeleted(id);
+        searchIndex.flightDeleted(id);
+        evictSchedules(date);
     }
 
     @Override
     public int checkAvailability(Long flightId) {
-        Flight f = repo.findById(flightId)
-            .orElseThrow(() -> new RuntimeException("Flight not found"));
-        return f.getAvailableSeats();
+        // Served from the in-memory counters, which already net out seats held for checkout
+        int available = inventory.available(flightId);
+        if (available == SeatInventory.UNKNOWN_FLIGHT) {
+            throw new RuntimeException("Flight not found");
+        }
+        return available;
+    }
+
+    @Override
+    public Map<Long, FlightDTO> getFlightsByIds(List<Long> ids) {
+        Map<Long, FlightDTO> flights = new LinkedHashMap<>();
+        IdBatches.loadById(ids, repo::findAllById, Flight::getId)
+            .forEach((id, f) -> flights.put(id, toDTO(f)));
+        return flights;
+    }
+
+    @Override
+    public Map<Long, Integer> checkAvailability(List<Long> flightIds) {
+        Map<Long, Integer> availability = new LinkedHashMap<>();
+        for (Long id : IdBatches.distinct(flightIds)) {
+            int available = inventory.available(id);
+            if (available != SeatInventory.UNKNOWN_FLIGHT) {
+                availability.put(id, available);
+            }
+        }
+        return availability;
+    }
+
+    /**
+     * Drops every cached search whose result includes flights on {@code date}, once the change
+     * that moved a flight onto or off that date has committed.
+     */
+    private void evictSchedules(LocalDate date) {
+        afterCommit(() -> schedules.invalidateIf(q -> q.onward() ? !q.date().isAfter(date) : q.date().equals(date)));
+    }
+
+    /**
+     * Inserts the rows with no flight under their key yet and updates seats and price on the rest,
+     * in the caller's transaction. A flight is never shrunk below the seats already booked on it,
+     * and one whose seats and price already match is left untouched.
+     */
+    private Upserted upsert(List<ScheduledRow> batch) {
+        Set<String> airlines = new HashSet<>();
+        Set<String> numbers = new HashSet<>();
+        LocalDate from = LocalDate.MAX;
+        LocalDate to = LocalDate.MIN;
+        for (ScheduledRow row : batch) {
+            airlines.add(row.key().airline());
+            numbers.add(row.key().flightNumber());
+            from = row.key().date().isBefore(from) ? row.key().date() : from;
+            to = row.key().date().isAfter(to) ? row.key().date() : to;
+        }
+        Map<ScheduleKey, Flight> existing = new HashMap<>();
+        for (Flight f : repo.findScheduled(airlines, numbers, from, to)) {
+            existing.put(new ScheduleKey(f.getAirlineName(), f.getFlightNumber(), f.getFlightDate()), f);
+        }
+
+        Upserted result = new Upserted(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        for (ScheduledRow row : batch) {
+            Flight f = existing.get(row.key());
+            if (f == null) {
+                f = new Flight(row.key().airline(), row.totalSeats(), row.key().date(), row.price());
+                f.setFlightNumber(row.key().flightNumber());
+                result.inserted().add(f);
+            } else if (row.totalSeats() < f.getBookedSeats()) {
+                result.tooSmall().add(row);
+            } else if (row.totalSeats() == f.getTotalSeats() && row.price().compareTo(f.getPrice()) == 0) {
+                result.unchanged().add(row);
+            } else {
+                f.setTotalSeats(row.totalSeats());
+                f.setPrice(row.price());
+                result.updated().add(f);
+            }
+        }
+        // Sequence-generated ids let Hibernate send the inserts, and the dirty-checked updates, as JDBC batches
+        repo.saveAll(result.inserted());
+        repo.flush();
+        return result;
+    }
+
+    private static FlightScheduleRowDTO csvRow(List<String> fields, Map<String, Integer> columns) {
+        String date = trimToNull(CsvFields.field(fields, columns, "flightDate"));
+        String seats = trimToNull(CsvFields.field(fields, columns, "totalSeats"));
+        String price = trimToNull(CsvFields.field(fields, columns, "price"));
+        return new FlightScheduleRowDTO(CsvFields.field(fields, columns, "airlineName"),
+            CsvFields.field(fields, columns, "flightNumber"),
+            date == null ? null : LocalDate.parse(date),
+            seats == null ? null : Integer.valueOf(seats),
+            price == null ? null : new BigDecimal(price));
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    private List<FlightDTO> toSchedule(List<Flight> flights) {
+        return flights.stream()
+            .map(f -> new FlightDTO(f.getId(), f.getAirlineName(), f.getTotalSeats(), f.getTotalSeats() - f.getBookedSeats(),
+                f.getFlightDate(), f.getPrice()))
+            .collect(Collectors.toUnmodifiableList());
+    }
+
+    private List<FlightDTO> withLiveSeats(List<FlightDTO> schedule) {
+        List<FlightDTO> flights = new ArrayList<>(schedule.size());
+        for (FlightDTO f : schedule) {
+            // Remaining seats in the inventory already exclude seats held for checkout
+            int available = inventory.available(f.getId());
+            if (available == SeatInventory.UNKNOWN_FLIGHT) {
+                continue;
+            }
+            flights.add(new FlightDTO(f.getId(), f.getAirlineName(), f.getTotalSeats(), available,
+                f.getFlightDate(), f.getPrice()));
+        }
+        return flights;
+    }
+
+    private record ScheduleQuery(LocalDate date, boolean onward) {}
+
+    private record ScheduleKey(String airline, String flightNumber, LocalDate date) {
+        String label() {
+            return airline + " " + flightNumber + " " + date;
+        }
+    }
+
+    private record ScheduledRow(long line, ScheduleKey key, int totalSeats, BigDecimal price) {}
+
+    private record Upserted(List<Flight> inserted, List<Flight> updated, List<ScheduledRow> unchanged,
+        List<ScheduledRow> tooSmall) {}
+
+    private final class ScheduleImport {
+        long rows;
+        long inserted;
+        long updated;
+        long unchanged;
+        long rejected;
+        final List<FlightImportResultDTO.Reject> rejects = new ArrayList<>();
+        // The batch being built, by key; a flight listed again in a later batch is simply
+        // upserted once more, like any other flight already in the table
+        final Map<ScheduleKey, ScheduledRow> pending = new LinkedHashMap<>();
+
+        void add(long line, FlightScheduleRowDTO row) {
+            rows++;
+            String airline = trimToNull(row.getAirlineName());
+            String number = trimToNull(row.getFlightNumber());
+            ScheduleKey key = new ScheduleKey(airline, number, row.getFlightDate());
+            if (airline == null) {
+                reject(line, key.label(), "airline name is required");
+            } else if (number == null || number.length() > MAX_FLIGHT_NUMBER_LENGTH) {
+                reject(line, key.label(),
+                    "flight number is required, at most " + MAX_FLIGHT_NUMBER_LENGTH + " characters");
+            } else if (row.getFlightDate() == null) {
+                reject(line, key.label(), "flight date is required");
+            } else if (row.getTotalSeats() == null || row.getTotalSeats() < 1) {
+                reject(line, key.label(), "total seats must be at least 1");
+            } else if (row.getPrice() == null || row.getPrice().signum() < 0) {
+                reject(line, key.label(), "price must not be negative");
+            } else if (pending.containsKey(key)) {
+                reject(line, key.label(), "flight appears earlier in the import");
+            } else {
+                pending.put(key, new ScheduledRow(line, key, row.getTotalSeats(), row.getPrice()));
+                if (pending.size() >= IMPORT_BATCH_SIZE) {
+                    flush();
+                }
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<ScheduledRow> batch = new ArrayList<>(pending.values());
+            pending.clear();
+            try {
+                applied(inTransaction.execute(status -> upsert(batch)));
+            } catch (DataIntegrityViolationException e) {
+                // Another writer added one of these flights after the lookup; row by row, the
+                // retry finds it and updates it instead
+                for (ScheduledRow row : batch) {
+                    try {
+                        applied(inTransaction.execute(status -> upsert(List.of(row))));
+                    } catch (DataIntegrityViolationException conflict) {
+                        reject(row.line(), row.key().label(), "conflicts with a concurrent schedule change");
+                    }
+                }
+            }
+        }
+
+        // Runs once the batch has committed, so the in-memory views only ever see committed flights
+        private void applied(Upserted batch) {
+            Set<LocalDate> dates = new HashSet<>();
+            inventory.registerAll(batch.inserted());
+            for (Flight f : batch.inserted()) {
+                rollups.flightSaved(f.getId(), f.getAirlineName());
+                searchIndex.flightSaved(f.getId(), f.getAirlineName(), f.getTotalSeats(), f.getFlightDate(), f.getPrice());
+                dates.add(f.getFlightDate());
+            }
+            for (Flight f : batch.updated()) {
+                long flightId = f.getId();
+                int totalSeats = f.getTotalSeats();
+                afterCommit(() -> inventory.updateCapacity(flightId, totalSeats));
+                searchIndex.flightSaved(f.getId(), f.getAirlineName(), f.getTotalSeats(), f.getFlightDate(), f.getPrice());
+                dates.add(f.getFlightDate());
+            }
+            batch.tooSmall().forEach(row -> reject(row.line(), row.key().label(), SEATS_BELOW_BOOKED));
+            dates.forEach(FlightServiceImpl.this::evictSchedules);
+            inserted += batch.inserted().size();
+            updated += batch.updated().size();
+            unchanged += batch.unchanged().size();
+        }
+
+        void reject(long line, String flight, String reason) {
+            rejected++;
+            if (rejects.size() < MAX_REPORTED_REJECTS) {
+                rejects.add(new FlightImportResultDTO.Reject(line, flight, reason));
+            }
+        }
+    }
+
+    private FlightDTO toDTO(Flight f) {
+        // Seats held for checkout are not in booked_seats yet but are no longer available
+        f.setHeldSeats(holds.heldSeats(f.getId()));
+        return new FlightDTO(f.getId(), f.getAirlineName(), f.getTotalSeats(), f.getAvailableSeats(), f.getFlightDate(), f.getPrice());
     }
 }
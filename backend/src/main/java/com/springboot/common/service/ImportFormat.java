@@ -0,0 +1,10 @@
+package com.springboot.common.service;
+
+/**
+ * Line-oriented formats the bulk import endpoints read: CSV with a header row, or one JSON object
+ * per line.
+ */
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
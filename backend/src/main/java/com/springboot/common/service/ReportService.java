@@ -4,12 +4,14 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import com.springboot.common.dto.ReportDTO;
 
 public interface ReportService {
     List<ReportDTO> revenueByAirline(String airlineName, LocalDateTime start, LocalDateTime end);
     Map<String, Object> getDashboardStats();
+    Map<String, Object> getDashboardStats(Set<String> include);
     List<ReportDTO> getBookingTrends(LocalDate startDate, LocalDate endDate);
     List<ReportDTO> getAirlinePerformance();
     Map<String, Object> getRevenueAnalysis(LocalDate startDate, LocalDate endDate);
@@ -4,150 +4,185 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import io.micrometer.core.annotation.Timed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.springboot.common.dto.ReportDTO;
-import com.springboot.common.model.Booking;
-import com.springboot.common.model.Customer;
-import com.springboot.common.model.Flight;
+import com.springboot.common.repository.AirlineRevenueView;
 import com.springboot.common.repository.BookingRepository;
+import com.springboot.common.repository.BookingTotalsView;
 import com.springboot.common.repository.CustomerRepository;
+import com.springboot.common.repository.FlightCapacityView;
 import com.springboot.common.repository.FlightRepository;
+import com.springboot.common.util.RefreshingValue;
+
+import jakarta.annotation.PreDestroy;
 
+/**
+ * The dashboard's stat groups come from independent queries, so they are loaded side by side on a
+ * small bounded pool, each in its own read-only transaction, and the request waits for the slowest
+ * rather than the sum. Groups not ready by the deadline are left out and the result is flagged
+ * {@code partial}; their loads keep running and refresh the cached value for the next request.
+ */
 @Service
+@Timed(value = "report.service", histogram = true)
 public class ReportServiceImpl implements ReportService {
+    private static final Logger log = LoggerFactory.getLogger(ReportServiceImpl.class);
+
+    private static final Set<String> FLIGHT_STATS = Set.of("totalFlights", "availableSeats", "totalSeats", "occupancyRate");
+    private static final Set<String> BOOKING_STATS = Set.of("totalBookings", "totalRevenue");
+    private static final Set<String> CUSTOMER_STATS = Set.of("totalCustomers");
+
     private final BookingRepository bookingRepo;
     private final CustomerRepository customerRepo;
     private final FlightRepository flightRepo;
+    private final BookingRollupStore rollups;
+
+    // Dashboard stats are cached per source table so a filtered request only refreshes what it asks for
+    private final RefreshingValue<Map<String, Object>> flightStats;
+    private final RefreshingValue<Map<String, Object>> bookingStats;
+    private final RefreshingValue<Map<String, Object>> customerStats;
+
+    private final TransactionTemplate readOnlyTx;
+    private final ThreadPoolExecutor queryPool;
+    private final long dashboardDeadlineMillis;
     
-    public ReportServiceImpl(BookingRepository bookingRepo, CustomerRepository customerRepo, FlightRepository flightRepo) { 
+    public ReportServiceImpl(BookingRepository bookingRepo, CustomerRepository customerRepo, FlightRepository flightRepo,
+            BookingRollupStore rollups,
+            PlatformTransactionManager transactionManager,
+            @Value("${reports.dashboard.refresh-seconds:5}") long dashboardRefreshSeconds,
+            @Value("${reports.dashboard.deadline-millis:2000}") long dashboardDeadlineMillis,
+            @Value("${reports.query-pool.threads:4}") int queryThreads,
+            @Value("${reports.query-pool.queue-capacity:32}") int queryQueueCapacity) { 
         this.bookingRepo = bookingRepo; 
         this.customerRepo = customerRepo;
         this.flightRepo = flightRepo;
+        this.rollups = rollups;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.dashboardDeadlineMillis = dashboardDeadlineMillis;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.queryPool = new ThreadPoolExecutor(queryThreads, queryThreads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queryQueueCapacity), r -> {
+                Thread thread = new Thread(r, "report-query-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.queryPool.allowCoreThreadTimeOut(true);
+        this.flightStats = new RefreshingValue<>(() -> readOnly(this::loadFlightStats), dashboardRefreshSeconds, TimeUnit.SECONDS);
+        this.bookingStats = new RefreshingValue<>(() -> readOnly(this::loadBookingStats), dashboardRefreshSeconds, TimeUnit.SECONDS);
+        this.customerStats = new RefreshingValue<>(() -> readOnly(this::loadCustomerStats), dashboardRefreshSeconds, TimeUnit.SECONDS);
     }
 
     @Override
     public List<ReportDTO> revenueByAirline(String airline, LocalDateTime start, LocalDateTime end) {
-        List<Booking> bookings = bookingRepo.findByFlightAirlineNameAndBookingDateBetween(airline, start, end);
-        
-        if (bookings.isEmpty()) {
-            // Return empty result if no bookings found
-            return List.of();
-        }
-        
-        return bookings.stream()
-            .collect(Collectors.groupingBy(
-                b -> b.getFlight().getAirlineName(),
-                Collectors.collectingAndThen(Collectors.toList(), list -> {
-                    // Count unique flights
-                    long uniqueFlights = list.stream()
-                        .map(b -> b.getFlight().getId())
-                        .distinct()
-                        .count();
-                    
-                    // Count total seats booked
-                    long totalSeatsBooked = list.size();
-                    
-                    BigDecimal totalRevenue = list.stream()
-                        .map(b -> b.getPrice())
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    
-                    BigDecimal avgPrice = totalSeatsBooked > 0
-                        ? totalRevenue.divide(BigDecimal.valueOf(totalSeatsBooked), RoundingMode.HALF_UP)
-                        : BigDecimal.ZERO;
-                    
-                    // Use uniqueFlights for the first parameter (representing number of flights)
-                    return new ReportDTO(airline, uniqueFlights, totalRevenue, avgPrice);
-                })
-            ))
-            .values()
-            .stream().collect(Collectors.toList());
+        // The database groups and sums; only one row per airline comes back
+        return bookingRepo.summarizeAirlineRevenue(airline, start, end).stream()
+            .map(r -> new ReportDTO(airline, r.getFlights(), r.getRevenue(), average(r.getRevenue(), r.getBookings())))
+            .collect(Collectors.toList());
     }
 
     @Override
     public Map<String, Object> getDashboardStats() {
-        Map<String, Object> stats = new HashMap<>();
-        
-        // Get only future flights for active flights count
-        List<Flight> futureFlights = flightRepo.findByFlightDateGreaterThanEqual(LocalDate.now());
-        List<Flight> allFlights = flightRepo.findAll();
-        List<Booking> bookings = bookingRepo.findAll();
-        List<Customer> customers = customerRepo.findAll();
-        
-        stats.put("totalFlights", futureFlights.size()); // Only future flights as active
-        stats.put("totalBookings", bookings.size());
-        stats.put("totalCustomers", customers.size());
-        stats.put("totalRevenue", bookings.stream()
-            .map(Booking::getPrice)
-            .reduce(BigDecimal.ZERO, BigDecimal::add));
-        stats.put("availableSeats", futureFlights.stream()
-            .mapToInt(Flight::getAvailableSeats)
-            .sum());
-        stats.put("totalSeats", futureFlights.stream()
-            .mapToInt(Flight::getTotalSeats)
-            .sum());
-        stats.put("occupancyRate", calculateOccupancyRate(futureFlights));
+        return getDashboardStats(null);
+    }
+
+    @Override
+    public Map<String, Object> getDashboardStats(Set<String> include) {
+        Set<String> wanted = new HashSet<>();
+        if (include == null || include.isEmpty()) {
+            wanted.addAll(FLIGHT_STATS);
+            wanted.addAll(BOOKING_STATS);
+            wanted.addAll(CUSTOMER_STATS);
+        } else {
+            for (String stat : include) {
+                if (!FLIGHT_STATS.contains(stat) && !BOOKING_STATS.contains(stat) && !CUSTOMER_STATS.contains(stat)) {
+                    throw new RuntimeException("Unknown dashboard stat: " + stat);
+                }
+                wanted.add(stat);
+            }
+        }
         
+        Map<Set<String>, Future<Map<String, Object>>> parts = new LinkedHashMap<>();
+        if (!Collections.disjoint(wanted, FLIGHT_STATS)) {
+            parts.put(FLIGHT_STATS, submit(flightStats));
+        }
+        if (!Collections.disjoint(wanted, BOOKING_STATS)) {
+            parts.put(BOOKING_STATS, submit(bookingStats));
+        }
+        if (!Collections.disjoint(wanted, CUSTOMER_STATS)) {
+            parts.put(CUSTOMER_STATS, submit(customerStats));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(dashboardDeadlineMillis);
+        Map<String, Object> stats = new HashMap<>();
+        Set<String> unavailable = new TreeSet<>();
+        for (Map.Entry<Set<String>, Future<Map<String, Object>>> part : parts.entrySet()) {
+            Map<String, Object> values = await(part.getValue(), deadline);
+            if (values != null) {
+                stats.putAll(values);
+            } else {
+                unavailable.addAll(part.getKey());
+            }
+        }
+        stats.keySet().retainAll(wanted);
+        unavailable.retainAll(wanted);
+        if (!unavailable.isEmpty()) {
+            stats.put("partial", true);
+            stats.put("unavailable", new ArrayList<>(unavailable));
+        }
         return stats;
     }
 
     @Override
     public List<ReportDTO> getBookingTrends(LocalDate startDate, LocalDate endDate) {
-        return bookingRepo.findAll().stream()
-            .filter(booking -> {
-                LocalDate bookingDate = booking.getBookingDate().toLocalDate();
-                return !bookingDate.isBefore(startDate) && !bookingDate.isAfter(endDate);
-            })
-            .collect(Collectors.groupingBy(
-                b -> b.getBookingDate().toLocalDate(),
-                Collectors.collectingAndThen(Collectors.toList(), list -> {
-                    long count = list.size();
-                    BigDecimal revenue = list.stream()
-                        .map(Booking::getPrice)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    return new ReportDTO("Daily", count, revenue, BigDecimal.ZERO);
-                })
-            ))
-            .values()
-            .stream()
-            .sorted((a, b) -> a.getAirlineName().compareTo(b.getAirlineName()))
+        // One rollup entry per day, oldest first
+        return rollups.dailyTotals(startDate, endDate).values().stream()
+            .map(t -> new ReportDTO("Daily", t.getBookings(), t.getRevenue(), BigDecimal.ZERO))
             .collect(Collectors.toList());
     }
 
     @Override
     public List<ReportDTO> getAirlinePerformance() {
-        return flightRepo.findByFlightDateGreaterThanEqual(LocalDate.now()).stream()
-            .collect(Collectors.groupingBy(
-                Flight::getAirlineName,
-                Collectors.collectingAndThen(Collectors.toList(), flights -> {
-                    int totalSeats = flights.stream().mapToInt(Flight::getTotalSeats).sum();
-                    int bookedSeats = flights.stream().mapToInt(Flight::getBookedSeats).sum();
-                    
-                    BigDecimal avgPrice;
-                    if (flights.isEmpty()) {
-                        avgPrice = BigDecimal.ZERO;
-                    } else {
-                        avgPrice = flights.stream()
-                            .map(Flight::getPrice)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add)
-                            .divide(BigDecimal.valueOf(flights.size()), RoundingMode.HALF_UP);
-                    }
-                    
-                    return new ReportDTO(
-                        flights.get(0).getAirlineName(),
-                        bookedSeats,
-                        avgPrice.multiply(BigDecimal.valueOf(bookedSeats)),
-                        avgPrice
-                    );
-                })
+        LocalDate today = LocalDate.now();
+        Map<String, BigDecimal> revenueByAirline = new HashMap<>();
+        for (AirlineRevenueView r : bookingRepo.summarizeRevenueByAirlineForFlightsFrom(today)) {
+            revenueByAirline.put(r.getAirlineName(), r.getRevenue());
+        }
+        
+        return flightRepo.summarizeCapacityByAirlineFrom(today).stream()
+            .map(c -> new ReportDTO(
+                c.getAirlineName(),
+                c.getBookedSeats(),
+                revenueByAirline.getOrDefault(c.getAirlineName(), BigDecimal.ZERO),
+                average(c.getPriceTotal(), c.getFlights())
             ))
-            .values()
-            .stream()
             .collect(Collectors.toList());
     }
 
@@ -155,38 +190,95 @@ public class ReportServiceImpl implements ReportService {
     public Map<String, Object> getRevenueAnalysis(LocalDate startDate, LocalDate endDate) {
         Map<String, Object> analysis = new HashMap<>();
         
-        List<Booking> bookings = bookingRepo.findAll().stream()
-            .filter(booking -> {
-                LocalDate bookingDate = booking.getBookingDate().toLocalDate();
-                return !bookingDate.isBefore(startDate) && !bookingDate.isAfter(endDate);
-            })
-            .collect(Collectors.toList());
+        Map<String, BookingRollupStore.Totals> byAirline = rollups.totalsByAirline(startDate, endDate);
         
-        BigDecimal totalRevenue = bookings.stream()
-            .map(Booking::getPrice)
+        long totalBookings = byAirline.values().stream()
+            .mapToLong(BookingRollupStore.Totals::getBookings)
+            .sum();
+        BigDecimal totalRevenue = byAirline.values().stream()
+            .map(BookingRollupStore.Totals::getRevenue)
             .reduce(BigDecimal.ZERO, BigDecimal::add);
         
-        BigDecimal avgBookingValue = bookings.isEmpty() ? BigDecimal.ZERO :
-            totalRevenue.divide(BigDecimal.valueOf(bookings.size()), RoundingMode.HALF_UP);
+        BigDecimal avgBookingValue = average(totalRevenue, totalBookings);
+        
+        Map<String, BigDecimal> revenueByAirline = new HashMap<>();
+        byAirline.forEach((airline, t) -> revenueByAirline.put(airline, t.getRevenue()));
         
         analysis.put("totalRevenue", totalRevenue);
-        analysis.put("totalBookings", bookings.size());
+        analysis.put("totalBookings", Math.toIntExact(totalBookings));
         analysis.put("averageBookingValue", avgBookingValue);
-        analysis.put("revenueByAirline", bookings.stream()
-            .collect(Collectors.groupingBy(
-                b -> b.getFlight().getAirlineName(),
-                Collectors.mapping(Booking::getPrice, Collectors.reducing(BigDecimal.ZERO, BigDecimal::add))
-            )));
+        analysis.put("revenueByAirline", revenueByAirline);
         
         return analysis;
     }
 
-    private double calculateOccupancyRate(List<Flight> flights) {
-        if (flights.isEmpty()) return 0.0;
+    @PreDestroy
+    public void shutdown() {
+        queryPool.shutdownNow();
+    }
+
+    private <T> T readOnly(Supplier<T> query) {
+        return readOnlyTx.execute(status -> query.get());
+    }
+
+    // Null when the pool is saturated; the caller reports those stats as unavailable
+    private Future<Map<String, Object>> submit(RefreshingValue<Map<String, Object>> value) {
+        try {
+            return queryPool.submit(value::get);
+        } catch (RejectedExecutionException e) {
+            log.warn("Report query pool is saturated, skipping a dashboard query");
+            return null;
+        }
+    }
+
+    // Null when the query missed the deadline; it is not cancelled, so its result still refreshes the cache
+    private static <T> T await(Future<T> future, long deadlineNanos) {
+        if (future == null) {
+            return null;
+        }
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private static BigDecimal average(BigDecimal total, long count) {
+        return count > 0 ? total.divide(BigDecimal.valueOf(count), RoundingMode.HALF_UP) : BigDecimal.ZERO;
+    }
+
+    private Map<String, Object> loadFlightStats() {
+        // Only future flights count as active
+        FlightCapacityView flights = flightRepo.summarizeCapacityFrom(LocalDate.now());
+        int totalSeats = Math.toIntExact(flights.getTotalSeats());
+        int bookedSeats = Math.toIntExact(flights.getBookedSeats());
         
-        int totalSeats = flights.stream().mapToInt(Flight::getTotalSeats).sum();
-        int bookedSeats = flights.stream().mapToInt(Flight::getBookedSeats).sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalFlights", Math.toIntExact(flights.getFlights()));
+        stats.put("availableSeats", totalSeats - bookedSeats);
+        stats.put("totalSeats", totalSeats);
+        stats.put("occupancyRate", totalSeats > 0 ? (double) bookedSeats / totalSeats * 100 : 0.0);
+        return stats;
+    }
+
+    private Map<String, Object> loadBookingStats() {
+        BookingTotalsView bookings = bookingRepo.summarizeAll();
         
-        return totalSeats > 0 ? (double) bookedSeats / totalSeats * 100 : 0.0;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalBookings", Math.toIntExact(bookings.getBookings()));
+        stats.put("totalRevenue", bookings.getRevenue());
+        return stats;
+    }
+
+    private Map<String, Object> loadCustomerStats() {
+        return Map.of("totalCustomers", Math.toIntExact(customerRepo.count()));
     }
 }
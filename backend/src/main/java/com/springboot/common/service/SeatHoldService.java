@@ -0,0 +1,18 @@
+package com.springboot.common.service;
+
+import java.util.List;
+
+import com.springboot.common.dto.BookingDTO;
+import com.springboot.common.dto.ConfirmHoldRequestDTO;
+import com.springboot.common.dto.HoldDTO;
+import com.springboot.common.dto.HoldRequestDTO;
+
+public interface SeatHoldService {
+    HoldDTO placeHold(Long flightId, HoldRequestDTO request);
+
+    List<BookingDTO> confirmHold(Long flightId, String holdId, ConfirmHoldRequestDTO request);
+
+    void releaseHold(Long flightId, String holdId);
+
+    int heldSeats(Long flightId);
+}
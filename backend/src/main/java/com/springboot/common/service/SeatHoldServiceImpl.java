@@ -0,0 +1,181 @@
+package com.springboot.common.service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.springboot.common.dto.BookingDTO;
+import com.springboot.common.dto.ConfirmHoldRequestDTO;
+import com.springboot.common.dto.HoldDTO;
+import com.springboot.common.dto.HoldRequestDTO;
+import com.springboot.common.model.Booking;
+import com.springboot.common.model.Customer;
+import com.springboot.common.model.Flight;
+import com.springboot.common.repository.BookingRepository;
+import com.springboot.common.repository.CustomerRepository;
+import com.springboot.common.repository.FlightRepository;
+import com.springboot.common.util.HashedTimingWheel;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Holds take seats out of the {@link SeatInventory} for a short TTL without writing anything.
+ * Only a confirmed hold claims the seats in {@code flights} and inserts bookings; expired or
+ * released holds just hand the seats back in memory. Expiry runs on a hashed timing wheel, so
+ * thousands of open checkouts cost one timer thread.
+ */
+@Service
+public class SeatHoldServiceImpl implements SeatHoldService {
+    private final BookingRepository bookingRepo;
+    private final FlightRepository flightRepo;
+    private final CustomerRepository customerRepo;
+    private final SeatInventory inventory;
+    private final BookingRollupStore rollups;
+    private final int defaultTtlSeconds;
+    private final int maxTtlSeconds;
+    private final int maxSeatsPerHold;
+
+    private final HashedTimingWheel expiryWheel = new HashedTimingWheel("seat-hold-expiry", 100, TimeUnit.MILLISECONDS, 512);
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> heldSeatsByFlight = new ConcurrentHashMap<>();
+
+    public SeatHoldServiceImpl(BookingRepository bookingRepo,
+            FlightRepository flightRepo,
+            CustomerRepository customerRepo,
+            SeatInventory inventory,
+            BookingRollupStore rollups,
+            @Value("${booking.holds.default-ttl-seconds:60}") int defaultTtlSeconds,
+            @Value("${booking.holds.max-ttl-seconds:900}") int maxTtlSeconds,
+            @Value("${booking.holds.max-seats:9}") int maxSeatsPerHold) {
+        this.bookingRepo = bookingRepo;
+        this.flightRepo = flightRepo;
+        this.customerRepo = customerRepo;
+        this.inventory = inventory;
+        this.rollups = rollups;
+        this.defaultTtlSeconds = defaultTtlSeconds;
+        this.maxTtlSeconds = maxTtlSeconds;
+        this.maxSeatsPerHold = maxSeatsPerHold;
+        inventory.setHeldSeats(flightId -> heldSeatsByFlight.getOrDefault(flightId, 0));
+    }
+
+    @Override
+    public HoldDTO placeHold(Long flightId, HoldRequestDTO req) {
+        int seats = req.getSeats() == null ? 1 : req.getSeats();
+        if (seats < 1 || seats > maxSeatsPerHold) {
+            throw new RuntimeException("A hold must be for 1 to " + maxSeatsPerHold + " seats");
+        }
+        int ttlSeconds = req.getTtlSeconds() == null
+                ? defaultTtlSeconds
+                : Math.max(1, Math.min(req.getTtlSeconds(), maxTtlSeconds));
+
+        switch (inventory.reserve(flightId, seats)) {
+            case NOT_FOUND -> throw new RuntimeException("Flight not found");
+            case SOLD_OUT -> throw new RuntimeException("No seats available for this flight");
+            default -> { }
+        }
+
+        Hold hold = new Hold(UUID.randomUUID().toString(), flightId, seats, Instant.now().plusSeconds(ttlSeconds));
+        holds.put(hold.id, hold);
+        heldSeatsByFlight.merge(flightId, seats, Integer::sum);
+        hold.timeout = expiryWheel.schedule(() -> expire(hold), ttlSeconds, TimeUnit.SECONDS);
+        return new HoldDTO(hold.id, hold.flightId, hold.seats, hold.expiresAt);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingDTO> confirmHold(Long flightId, String holdId, ConfirmHoldRequestDTO req) {
+        Hold hold = findHold(flightId, holdId);
+        Customer c = customerRepo.findById(req.getCustomerId())
+                .orElseThrow(() -> new RuntimeException("Customer not found"));
+
+        if (!settle(hold)) {
+            throw new RuntimeException("Hold not found or expired");
+        }
+        hold.timeout.cancel();
+        // The seats stay taken in memory as booked seats, unless this transaction fails
+        inventory.releaseOnRollback(flightId, hold.seats);
+
+        if (flightRepo.claimSeats(flightId, hold.seats) == 0) {
+            inventory.resync(flightId);
+            throw new RuntimeException("No seats available for this flight");
+        }
+        Flight f = flightRepo.getReferenceById(flightId);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < hold.seats; i++) {
+            bookings.add(new Booking(f, c, req.getPrice()));
+        }
+        List<Booking> saved = bookingRepo.saveAll(bookings);
+        rollups.recordBookings(flightId, saved.get(0).getBookingDate(), saved.size(),
+                req.getPrice().multiply(BigDecimal.valueOf(saved.size())));
+        return saved.stream()
+                .map(b -> new BookingDTO(b.getId(), flightId, c.getId(), b.getPrice(), b.getBookingDate()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void releaseHold(Long flightId, String holdId) {
+        Hold hold = findHold(flightId, holdId);
+        if (settle(hold)) {
+            hold.timeout.cancel();
+            inventory.release(hold.flightId, hold.seats);
+        }
+    }
+
+    @Override
+    public int heldSeats(Long flightId) {
+        return heldSeatsByFlight.getOrDefault(flightId, 0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        expiryWheel.close();
+    }
+
+    private void expire(Hold hold) {
+        if (settle(hold)) {
+            inventory.release(hold.flightId, hold.seats);
+        }
+    }
+
+    // Exactly one of confirm, release and expiry wins a hold
+    private boolean settle(Hold hold) {
+        if (!holds.remove(hold.id, hold)) {
+            return false;
+        }
+        heldSeatsByFlight.computeIfPresent(hold.flightId, (id, held) -> held > hold.seats ? held - hold.seats : null);
+        return true;
+    }
+
+    private Hold findHold(Long flightId, String holdId) {
+        Hold hold = holds.get(holdId);
+        if (hold == null || !hold.flightId.equals(flightId)) {
+            throw new RuntimeException("Hold not found or expired");
+        }
+        return hold;
+    }
+
+    private static final class Hold {
+        final String id;
+        final Long flightId;
+        final int seats;
+        final Instant expiresAt;
+        volatile HashedTimingWheel.Timeout timeout;
+
+        Hold(String id, Long flightId, int seats, Instant expiresAt) {
+            this.id = id;
+            this.flightId = flightId;
+            this.seats = seats;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.springboot.common.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.LongConsumer;
+import java.util.function.LongToIntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.springboot.common.model.Flight;
+import com.springboot.common.repository.FlightRepository;
+import com.springboot.common.repository.FlightSeatsView;
+import com.springboot.common.util.LongIntHashMap;
+
+import static com.springboot.common.util.TransactionCallbacks.afterCommit;
+import static com.springboot.common.util.TransactionCallbacks.afterCompletion;
+import static com.springboot.common.util.TransactionCallbacks.afterRollback;
+
+/**
+ * In-memory remaining-seat counters for every flight.
+ *
+ * Flight ids map to a slot through a primitive {@link LongIntHashMap} snapshot; the counters
+ * themselves live in fixed-size chunks that never move, so seat claims are a lock-free CAS and
+ * structural changes (new or deleted flights) only copy the id index. The counters are an
+ * admission gate in front of the conditional {@code booked_seats} update, which stays the source
+ * of truth: sold-out and unknown flights are rejected here without touching the database.
+ * Availability reads are answered from the same counters, without allocating or querying.
+ */
+@Component
+public class SeatInventory {
+    private static final Logger log = LoggerFactory.getLogger(SeatInventory.class);
+
+    public static final int UNKNOWN_FLIGHT = -1;
+
+    private static final int CHUNK_SHIFT = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    public enum Outcome { RESERVED, SOLD_OUT, NOT_FOUND }
+
+    private final FlightRepository flightRepo;
+    private final List<LongConsumer> changeListeners = new CopyOnWriteArrayList<>();
+    // Seats taken in memory but not yet in booked_seats, such as checkout holds
+    private volatile LongToIntFunction heldSeats = flightId -> 0;
+
+    private final Object writeLock = new Object();
+    private volatile LongIntHashMap slotsByFlight = new LongIntHashMap();
+    private volatile Chunk[] chunks = new Chunk[0];
+    private volatile boolean loaded;
+
+    // Guarded by writeLock. Slots are never reused, so a CAS racing with remove() cannot land on
+    // another flight's counter; load() compacts them.
+    private int nextSlot;
+
+    public SeatInventory(FlightRepository flightRepo) {
+        this.flightRepo = flightRepo;
+    }
+
+    /**
+     * Registers a callback that is handed the id of every flight whose remaining seats change. It
+     * runs on the thread making the change, possibly inside this inventory's lock, so it must be
+     * quick and must not block.
+     */
+    public void addChangeListener(LongConsumer listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Sets where the seats held outside the database come from. Counters re-read from the
+     * database leave those seats taken, so a resync never hands a held seat to someone else.
+     */
+    public void setHeldSeats(LongToIntFunction heldSeats) {
+        this.heldSeats = heldSeats;
+    }
+
+    /**
+     * Remaining seats of a flight, or {@link #UNKNOWN_FLIGHT}.
+     */
+    public int available(long flightId) {
+        ensureLoaded();
+        int slot = slotsByFlight.get(flightId, -1);
+        if (slot < 0) {
+            return UNKNOWN_FLIGHT;
+        }
+        return chunks[slot >>> CHUNK_SHIFT].remaining.get(slot & CHUNK_MASK);
+    }
+
+    /**
+     * Claims one seat. Inside a transaction the seat is handed back automatically if that
+     * transaction rolls back.
+     */
+    public Outcome reserve(long flightId) {
+        return reserve(flightId, 1);
+    }
+
+    /**
+     * Claims all of {@code seats} or none of them, with the same rollback handling as
+     * {@link #reserve(long)}.
+     */
+    public Outcome reserve(long flightId, int seats) {
+        ensureLoaded();
+        int slot = slotsByFlight.get(flightId, -1);
+        if (slot < 0) {
+            return Outcome.NOT_FOUND;
+        }
+        Chunk chunk = chunks[slot >>> CHUNK_SHIFT];
+        int offset = slot & CHUNK_MASK;
+        while (true) {
+            int remaining = chunk.remaining.get(offset);
+            if (remaining < seats) {
+                return Outcome.SOLD_OUT;
+            }
+            if (chunk.remaining.compareAndSet(offset, remaining, remaining - seats)) {
+                break;
+            }
+        }
+        changed(flightId);
+        afterRollback(() -> adjust(flightId, seats));
+        return Outcome.RESERVED;
+    }
+
+    /**
+     * Claims as many of {@code seats} as are left, returning the number granted or
+     * {@link #UNKNOWN_FLIGHT}. Rolled-back transactions hand the seats back as in
+     * {@link #reserve(long)}.
+     */
+    public int reserveUpTo(long flightId, int seats) {
+        ensureLoaded();
+        int slot = slotsByFlight.get(flightId, -1);
+        if (slot < 0) {
+            return UNKNOWN_FLIGHT;
+        }
+        Chunk chunk = chunks[slot >>> CHUNK_SHIFT];
+        int offset = slot & CHUNK_MASK;
+        int granted;
+        while (true) {
+            int remaining = chunk.remaining.get(offset);
+            granted = Math.min(remaining, seats);
+            if (granted <= 0) {
+                return 0;
+            }
+            if (chunk.remaining.compareAndSet(offset, remaining, remaining - granted)) {
+                break;
+            }
+        }
+        changed(flightId);
+        int claimed = granted;
+        afterRollback(() -> adjust(flightId, claimed));
+        return granted;
+    }
+
+    /**
+     * Returns one seat. Inside a transaction this is deferred until the transaction commits.
+     */
+    public void release(long flightId) {
+        release(flightId, 1);
+    }
+
+    public void release(long flightId, int seats) {
+        afterCommit(() -> adjust(flightId, seats));
+    }
+
+    /**
+     * Hands back seats claimed earlier, outside the current transaction, if that transaction
+     * rolls back.
+     */
+    public void releaseOnRollback(long flightId, int seats) {
+        afterRollback(() -> adjust(flightId, seats));
+    }
+
+    /**
+     * Re-reads a flight's counters from the database once the current transaction completes,
+     * for when the database refused a seat this inventory had granted.
+     */
+    public void resync(long flightId) {
+        afterCompletion(() -> flightRepo.findSeatCountsById(flightId)
+                .ifPresent(f -> register(flightId, f.getTotalSeats(), f.getBookedSeats())));
+    }
+
+    public void register(long flightId, int totalSeats, int bookedSeats) {
+        ensureLoaded();
+        synchronized (writeLock) {
+            putLocked(flightId, totalSeats, bookedSeats);
+        }
+    }
+
+    /**
+     * Registers a batch of flights, copying the id index once for the whole batch.
+     */
+    public void registerAll(Collection<Flight> flights) {
+        if (flights.isEmpty()) {
+            return;
+        }
+        ensureLoaded();
+        synchronized (writeLock) {
+            LongIntHashMap next = slotsByFlight.copy();
+            for (Flight f : flights) {
+                writeLocked(f.getId(), slotLocked(next, f.getId()), f.getTotalSeats(), f.getBookedSeats());
+            }
+            slotsByFlight = next;
+            flights.forEach(f -> changed(f.getId()));
+        }
+    }
+
+    /**
+     * Applies a capacity change, keeping the number of seats already sold.
+     */
+    public void updateCapacity(long flightId, int totalSeats) {
+        ensureLoaded();
+        synchronized (writeLock) {
+            int slot = slotsByFlight.get(flightId, -1);
+            if (slot < 0) {
+                return;
+            }
+            Chunk chunk = chunks[slot >>> CHUNK_SHIFT];
+            int offset = slot & CHUNK_MASK;
+            int delta = totalSeats - chunk.total.getAndSet(offset, totalSeats);
+            // Never below zero, even if seats held for checkout now exceed the new capacity
+            chunk.remaining.updateAndGet(offset, r -> Math.max(0, r + delta));
+        }
+        changed(flightId);
+    }
+
+    public void remove(long flightId) {
+        ensureLoaded();
+        synchronized (writeLock) {
+            int slot = slotsByFlight.get(flightId, -1);
+            if (slot < 0) {
+                return;
+            }
+            LongIntHashMap next = slotsByFlight.copy();
+            next.remove(flightId);
+            slotsByFlight = next;
+        }
+        changed(flightId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ensureLoaded();
+    }
+
+    /**
+     * Rebuilds every counter from {@code flights}.
+     */
+    public void load() {
+        synchronized (writeLock) {
+            slotsByFlight = new LongIntHashMap();
+            chunks = new Chunk[0];
+            nextSlot = 0;
+            // The index is built privately and published once, rather than copied per flight
+            List<FlightSeatsView> flights = flightRepo.findAllSeatCounts();
+            LongIntHashMap next = new LongIntHashMap(flights.size());
+            for (FlightSeatsView f : flights) {
+                writeLocked(f.getId(), slotLocked(next, f.getId()), f.getTotalSeats(), f.getBookedSeats());
+            }
+            slotsByFlight = next;
+            flights.forEach(f -> changed(f.getId()));
+            loaded = true;
+            log.info("Seat inventory loaded for {} flights", slotsByFlight.size());
+        }
+    }
+
+    private void adjust(long flightId, int delta) {
+        int slot = slotsByFlight.get(flightId, -1);
+        if (slot < 0) {
+            return;
+        }
+        Chunk chunk = chunks[slot >>> CHUNK_SHIFT];
+        int offset = slot & CHUNK_MASK;
+        while (true) {
+            int remaining = chunk.remaining.get(offset);
+            int updated = Math.max(0, Math.min(chunk.total.get(offset), remaining + delta));
+            if (chunk.remaining.compareAndSet(offset, remaining, updated)) {
+                break;
+            }
+        }
+        changed(flightId);
+    }
+
+    private void putLocked(long flightId, int totalSeats, int bookedSeats) {
+        int slot = slotsByFlight.get(flightId, -1);
+        if (slot >= 0) {
+            writeLocked(flightId, slot, totalSeats, bookedSeats);
+        } else {
+            // Counters are written before the index that makes them reachable is published
+            LongIntHashMap next = slotsByFlight.copy();
+            writeLocked(flightId, slotLocked(next, flightId), totalSeats, bookedSeats);
+            slotsByFlight = next;
+        }
+        changed(flightId);
+    }
+
+    /**
+     * The flight's slot in {@code index}, allocating one (and the chunk holding it) if it has none.
+     */
+    private int slotLocked(LongIntHashMap index, long flightId) {
+        int slot = index.get(flightId, -1);
+        if (slot < 0) {
+            slot = nextSlot++;
+            int chunkIndex = slot >>> CHUNK_SHIFT;
+            if (chunkIndex == chunks.length) {
+                Chunk[] grown = Arrays.copyOf(chunks, chunkIndex + 1);
+                grown[chunkIndex] = new Chunk();
+                chunks = grown;
+            }
+            index.put(flightId, slot);
+        }
+        return slot;
+    }
+
+    private void writeLocked(long flightId, int slot, int totalSeats, int bookedSeats) {
+        Chunk chunk = chunks[slot >>> CHUNK_SHIFT];
+        int offset = slot & CHUNK_MASK;
+        chunk.total.set(offset, totalSeats);
+        chunk.remaining.set(offset, Math.max(0, totalSeats - bookedSeats - heldSeats.applyAsInt(flightId)));
+    }
+
+    private void changed(long flightId) {
+        for (LongConsumer listener : changeListeners) {
+            listener.accept(flightId);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (writeLock) {
+                if (!loaded) {
+                    load();
+                }
+            }
+        }
+    }
+
+    private static final class Chunk {
+        final AtomicIntegerArray remaining = new AtomicIntegerArray(CHUNK_SIZE);
+        final AtomicIntegerArray total = new AtomicIntegerArray(CHUNK_SIZE);
+    }
+}
@@ -0,0 +1,73 @@
+package com.springboot.common.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Splits one CSV record (RFC 4180) into its fields: commas separate fields, a field in double
+ * quotes may contain commas, and {@code ""} inside quotes is a literal quote. Records spanning
+ * several lines are not supported, so a quote left open at the end of the line is an error.
+ */
+public final class CsvFields {
+    private CsvFields() {}
+
+    /**
+     * Column positions by lower-cased header name; the first of any repeated name wins.
+     */
+    public static Map<String, Integer> columns(String header, String... required) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = split(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.putIfAbsent(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String name : required) {
+            if (!columns.containsKey(name.toLowerCase(Locale.ROOT))) {
+                throw new RuntimeException("CSV header must have a " + name + " column");
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * The field under {@code column} in a record split by {@link #split}, or null if the record
+     * stops short of it or the header has no such column.
+     */
+    public static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer i = columns.get(column.toLowerCase(Locale.ROOT));
+        return i != null && i < fields.size() ? fields.get(i) : null;
+    }
+
+    public static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,91 @@
+package com.springboot.common.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache that evicts the least recently used entry once full and drops entries older than
+ * the time to live. Loaders run outside the lock; a value loaded while an invalidation happened
+ * is returned to its caller but not stored, so a load that read pre-invalidation data can never
+ * outlive the invalidation.
+ */
+public class ExpiringLruCache<K, V> {
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    // Guarded by this; bumped by every invalidation
+    private long generation;
+
+    public ExpiringLruCache(int maxEntries, long ttl, TimeUnit unit) {
+        this(maxEntries, ttl, unit, System::nanoTime);
+    }
+
+    public ExpiringLruCache(int maxEntries, long ttl, TimeUnit unit, LongSupplier nanoClock) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.clock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > ExpiringLruCache.this.maxEntries;
+            }
+        };
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        long loadedGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (clock.getAsLong() - entry.loadedAt < ttlNanos) {
+                    return entry.value;
+                }
+                entries.remove(key);
+            }
+            loadedGeneration = generation;
+        }
+        long loadedAt = clock.getAsLong();
+        V value = loader.get();
+        synchronized (this) {
+            if (generation == loadedGeneration) {
+                entries.put(key, new Entry<>(value, loadedAt));
+            }
+        }
+        return value;
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateIf(Predicate<? super K> keys) {
+        generation++;
+        entries.keySet().removeIf(keys);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long loadedAt;
+
+        Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.springboot.common.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hashed timing wheel: one worker thread advances a ring of buckets every tick and runs the
+ * timeouts that fall due. Scheduling and cancelling are O(1) and allocate one small object, which
+ * suits large numbers of short-lived timers that are mostly cancelled before they fire. Tasks run
+ * on the worker thread and must be short.
+ */
+public class HashedTimingWheel implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(HashedTimingWheel.class);
+
+    private final long tickNanos;
+    private final List<Timeout>[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final long startNanos = System.nanoTime();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    // Only touched by the worker thread
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(String name, long tickDuration, TimeUnit unit, int wheelSize) {
+        if (tickDuration <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be positive");
+        }
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new List[Math.max(size, 1)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+        this.mask = wheel.length - 1;
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Timeout timeout = new Timeout(task, System.nanoTime() - startNanos + unit.toNanos(delay));
+        pending.add(timeout);
+        return timeout;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long tickDeadline = tickNanos * (tick + 1);
+            long sleepNanos = tickDeadline - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                }
+                continue;
+            }
+            transferPending();
+            expire(wheel[(int) (tick & mask)], tickDeadline);
+            tick++;
+        }
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.state.get() != Timeout.PENDING) {
+                continue;
+            }
+            long dueTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = Math.max(0, (dueTick - tick) / wheel.length);
+            // Timeouts already overdue go into the current bucket
+            wheel[(int) (Math.max(dueTick, tick) & mask)].add(timeout);
+        }
+    }
+
+    private void expire(List<Timeout> bucket, long tickDeadline) {
+        int kept = 0;
+        for (int i = 0; i < bucket.size(); i++) {
+            Timeout timeout = bucket.get(i);
+            if (timeout.state.get() != Timeout.PENDING) {
+                continue;
+            }
+            if (timeout.remainingRounds <= 0 && timeout.deadline <= tickDeadline) {
+                timeout.fire();
+            } else {
+                timeout.remainingRounds--;
+                bucket.set(kept++, timeout);
+            }
+        }
+        bucket.subList(kept, bucket.size()).clear();
+    }
+
+    public static final class Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int FIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private long remainingRounds;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Returns false if the task already ran or was cancelled.
+         */
+        public boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED);
+        }
+
+        private void fire() {
+            if (state.compareAndSet(PENDING, FIRED)) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.warn("Timing wheel task failed", e);
+                }
+            }
+        }
+    }
+}
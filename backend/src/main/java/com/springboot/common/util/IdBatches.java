@@ -0,0 +1,61 @@
+package com.springboot.common.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Multi-get by id: one {@code IN}-list query per chunk of ids instead of one lookup per id.
+ * Chunks keep the bind-parameter count and the statement size bounded for long id lists.
+ */
+public final class IdBatches {
+    public static final int MAX_IDS = 1000;
+    public static final int CHUNK_SIZE = 500;
+
+    private IdBatches() {}
+
+    /**
+     * Distinct non-null ids in the order given, rejecting requests over {@link #MAX_IDS}.
+     */
+    public static List<Long> distinct(Collection<Long> ids) {
+        LinkedHashSet<Long> distinct = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null) {
+                distinct.add(id);
+            }
+        }
+        if (distinct.size() > MAX_IDS) {
+            throw new RuntimeException("At most " + MAX_IDS + " ids per request");
+        }
+        return new ArrayList<>(distinct);
+    }
+
+    /**
+     * Loads every id through {@code query}, a chunk at a time, keyed by id in request order.
+     * Ids that match nothing are left out.
+     */
+    public static <T> Map<Long, T> loadById(Collection<Long> ids, Function<List<Long>, ? extends Iterable<T>> query,
+            ToLongFunction<T> id) {
+        List<Long> wanted = distinct(ids);
+        Map<Long, T> found = new HashMap<>();
+        for (int from = 0; from < wanted.size(); from += CHUNK_SIZE) {
+            for (T row : query.apply(wanted.subList(from, Math.min(from + CHUNK_SIZE, wanted.size())))) {
+                found.put(id.applyAsLong(row), row);
+            }
+        }
+        Map<Long, T> byId = new LinkedHashMap<>();
+        for (Long key : wanted) {
+            T row = found.get(key);
+            if (row != null) {
+                byId.put(key, row);
+            }
+        }
+        return byId;
+    }
+}
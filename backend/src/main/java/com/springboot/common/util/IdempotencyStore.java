@@ -0,0 +1,47 @@
+package com.springboot.common.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs an action at most once per key while the key is remembered. Results are kept in a bounded
+ * {@link ExpiringLruCache}; a caller arriving while the first call for its key is still running
+ * waits for that call and gets its result (or exception) instead of running the action again.
+ * Failed calls are not remembered, so the next attempt with the same key runs afresh.
+ */
+public class IdempotencyStore<V> {
+    private final ExpiringLruCache<String, V> completed;
+    private final ConcurrentHashMap<String, CompletableFuture<V>> running = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(int maxKeys, long ttl, TimeUnit unit) {
+        this.completed = new ExpiringLruCache<>(maxKeys, ttl, unit);
+    }
+
+    public V execute(String key, Supplier<V> action) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> first = running.putIfAbsent(key, mine);
+        if (first != null) {
+            try {
+                return first.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        try {
+            V value = completed.get(key, action);
+            mine.complete(value);
+            return value;
+        } catch (Throwable e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            running.remove(key, mine);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.springboot.common.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import org.springframework.data.domain.Limit;
+
+import com.springboot.common.dto.PageDTO;
+
+/**
+ * Keyset pagination over ascending ids. A page is every row with {@code id > after}, so each page
+ * is one index range scan however deep the client has paged. Cursors are opaque to clients; they
+ * only hand back the one they were given.
+ */
+public final class KeysetCursor {
+    public static final String HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final String PREFIX = "id:";
+
+    private KeysetCursor() {}
+
+    /**
+     * The id a page starts after; no cursor means the first page.
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (raw.startsWith(PREFIX)) {
+                return Long.parseLong(raw.substring(PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // Falls through to the error below; NumberFormatException is an IllegalArgumentException
+        }
+        throw new RuntimeException("Invalid cursor");
+    }
+
+    public static String encode(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new RuntimeException("Page size must be at least 1");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * One row more than the page holds, so a full page can tell whether another follows.
+     */
+    public static Limit fetchLimit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    /**
+     * Trims rows read with {@link #fetchLimit(int)} to the page and sets the cursor for the next one.
+     */
+    public static <T> PageDTO<T> page(List<T> rows, int pageSize, ToLongFunction<T> id) {
+        if (rows.size() <= pageSize) {
+            return new PageDTO<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new PageDTO<>(items, encode(id.applyAsLong(items.get(pageSize - 1))));
+    }
+}
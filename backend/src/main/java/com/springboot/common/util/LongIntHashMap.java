@@ -0,0 +1,216 @@
+package com.springboot.common.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive {@code long} keys to primitive {@code int} values.
+ * Lookups neither box nor allocate. Not thread-safe: callers that share an instance across
+ * threads publish it as an immutable snapshot and mutate a {@link #copy()} instead.
+ */
+public class LongIntHashMap {
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    // Key 0 is the empty-slot marker, so it is stored out of band
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public LongIntHashMap() {
+        this(16);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public int get(long key, int missingValue) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroValue : missingValue;
+        }
+        int i = indexOf(key);
+        while (true) {
+            long k = keys[i];
+            if (k == key) {
+                return values[i];
+            }
+            if (k == EMPTY) {
+                return missingValue;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    public boolean containsKey(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey;
+        }
+        int i = indexOf(key);
+        while (true) {
+            long k = keys[i];
+            if (k == key) {
+                return true;
+            }
+            if (k == EMPTY) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    public void put(long key, int value) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int i = indexOf(key);
+        while (true) {
+            long k = keys[i];
+            if (k == key) {
+                values[i] = value;
+                return;
+            }
+            if (k == EMPTY) {
+                keys[i] = key;
+                values[i] = value;
+                if (++size > keys.length * LOAD_FACTOR) {
+                    rehash(keys.length << 1);
+                }
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * Adds {@code delta} to the value stored under {@code key}, returning the new value.
+     * Absent keys start from zero.
+     */
+    public int addTo(long key, int delta) {
+        int updated = get(key, 0) + delta;
+        put(key, updated);
+        return updated;
+    }
+
+    public boolean remove(long key) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                return false;
+            }
+            hasZeroKey = false;
+            size--;
+            return true;
+        }
+        int i = indexOf(key);
+        while (true) {
+            long k = keys[i];
+            if (k == key) {
+                shiftBack(i);
+                size--;
+                return true;
+            }
+            if (k == EMPTY) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    public LongIntHashMap copy() {
+        LongIntHashMap copy = new LongIntHashMap(1);
+        copy.keys = keys.clone();
+        copy.values = values.clone();
+        copy.mask = mask;
+        copy.size = size;
+        copy.hasZeroKey = hasZeroKey;
+        copy.zeroValue = zeroValue;
+        return copy;
+    }
+
+    public void forEach(LongIntConsumer action) {
+        if (hasZeroKey) {
+            action.accept(EMPTY, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface LongIntConsumer {
+        void accept(long key, int value);
+    }
+
+    // Backward-shift deletion keeps probe chains intact without tombstones
+    private void shiftBack(int hole) {
+        int i = (hole + 1) & mask;
+        while (keys[i] != EMPTY) {
+            int home = indexOf(keys[i]);
+            boolean movable = hole <= i ? (home <= hole || home > i) : (home <= hole && home > i);
+            if (movable) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long k = oldKeys[i];
+            if (k != EMPTY) {
+                int j = indexOf(k);
+                while (keys[j] != EMPTY) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = k;
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private int indexOf(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR);
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+}
@@ -0,0 +1,67 @@
+package com.springboot.common.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A computed value that is reused until it is older than the refresh interval. Once stale, the
+ * first caller recomputes it while concurrent callers keep getting the previous value, so an
+ * expensive loader never runs more than once at a time. Only the very first load blocks.
+ */
+public class RefreshingValue<T> {
+    private final Supplier<T> loader;
+    private final long refreshNanos;
+    private final LongSupplier clock;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile Entry<T> current;
+
+    public RefreshingValue(Supplier<T> loader, long refreshInterval, TimeUnit unit) {
+        this(loader, refreshInterval, unit, System::nanoTime);
+    }
+
+    public RefreshingValue(Supplier<T> loader, long refreshInterval, TimeUnit unit, LongSupplier nanoClock) {
+        this.loader = loader;
+        this.refreshNanos = unit.toNanos(refreshInterval);
+        this.clock = nanoClock;
+    }
+
+    public T get() {
+        Entry<T> entry = current;
+        if (entry == null) {
+            synchronized (this) {
+                entry = current;
+                if (entry == null) {
+                    entry = load();
+                }
+            }
+            return entry.value;
+        }
+        if (clock.getAsLong() - entry.loadedAt >= refreshNanos && refreshing.compareAndSet(false, true)) {
+            try {
+                entry = load();
+            } finally {
+                refreshing.set(false);
+            }
+        }
+        return entry.value;
+    }
+
+    private Entry<T> load() {
+        Entry<T> entry = new Entry<>(loader.get(), clock.getAsLong());
+        current = entry;
+        return entry;
+    }
+
+    private static final class Entry<T> {
+        final T value;
+        final long loadedAt;
+
+        Entry(T value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
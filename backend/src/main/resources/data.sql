@@ -14,27 +14,27 @@ WHERE f.id IN (
 ); 
 
 -- Initialize flights with date and price
-INSERT INTO flights (airline_name, total_seats, booked_seats, flight_date, price) VALUES
-('Delta Airlines', 150, 0, '2099-12-31', 299.99),
-('American Airlines', 200, 0, '2024-08-15', 349.99),
-('United Airlines', 180, 0, '2024-08-16', 279.99),
-('Southwest Airlines', 175, 0, '2024-08-16', 199.99),
-('JetBlue Airways', 160, 0, '2024-08-17', 249.99),
-('Alaska Airlines', 140, 0, '2024-08-17', 229.99),
-('Spirit Airlines', 200, 0, '2024-08-18', 159.99),
-('Frontier Airlines', 180, 0, '2024-08-18', 179.99),
-('Delta Airlines', 150, 0, '2024-08-19', 319.99),
-('American Airlines', 200, 0, '2024-08-19', 379.99),
-('United Airlines', 180, 0, '2024-08-20', 289.99),
-('Southwest Airlines', 175, 0, '2024-08-20', 189.99),
-('JetBlue Airways', 160, 0, '2024-08-21', 259.99),
-('Alaska Airlines', 140, 0, '2024-08-21', 239.99),
-('Spirit Airlines', 200, 0, '2024-08-22', 169.99);
+INSERT INTO flights (id, airline_name, total_seats, booked_seats, flight_date, price) VALUES
+(1, 'Delta Airlines', 150, 0, '2099-12-31', 299.99),
+(2, 'American Airlines', 200, 0, '2024-08-15', 349.99),
+(3, 'United Airlines', 180, 0, '2024-08-16', 279.99),
+(4, 'Southwest Airlines', 175, 0, '2024-08-16', 199.99),
+(5, 'JetBlue Airways', 160, 0, '2024-08-17', 249.99),
+(6, 'Alaska Airlines', 140, 0, '2024-08-17', 229.99),
+(7, 'Spirit Airlines', 200, 0, '2024-08-18', 159.99),
+(8, 'Frontier Airlines', 180, 0, '2024-08-18', 179.99),
+(9, 'Delta Airlines', 150, 0, '2024-08-19', 319.99),
+(10, 'American Airlines', 200, 0, '2024-08-19', 379.99),
+(11, 'United Airlines', 180, 0, '2024-08-20', 289.99),
+(12, 'Southwest Airlines', 175, 0, '2024-08-20', 189.99),
+(13, 'JetBlue Airways', 160, 0, '2024-08-21', 259.99),
+(14, 'Alaska Airlines', 140, 0, '2024-08-21', 239.99),
+(15, 'Spirit Airlines', 200, 0, '2024-08-22', 169.99);
 
 -- Initialize some customers
-INSERT INTO customers (name, email, phone) VALUES
-('John Doe', 'john.doe@email.com', '555-0101'),
-('Jane Smith', 'jane.smith@email.com', '555-0102'),
-('Bob Johnson', 'bob.johnson@email.com', '555-0103'),
-('Alice Brown', 'alice.brown@email.com', '555-0104'),
-('Charlie Wilson', 'charlie.wilson@email.com', '555-0105'); 
\ No newline at end of file
+INSERT INTO customers (id, name, email, phone) VALUES
+(1, 'John Doe', 'john.doe@email.com', '555-0101'),
+(2, 'Jane Smith', 'jane.smith@email.com', '555-0102'),
+(3, 'Bob Johnson', 'bob.johnson@email.com', '555-0103'),
+(4, 'Alice Brown', 'alice.brown@email.com', '555-0104'),
+(5, 'Charlie Wilson', 'charlie.wilson@email.com', '555-0105'); 
\ No newline at end of file
@@ -1,31 +1,59 @@
 -- Drop tables in correct order (child tables first)
 DROP TABLE IF EXISTS bookings;
+DROP TABLE IF EXISTS bookings_seq;
 DROP TABLE IF EXISTS flights;
+DROP TABLE IF EXISTS flights_seq;
 DROP TABLE IF EXISTS customers;
+DROP TABLE IF EXISTS customers_seq;
 
 -- Create tables in correct order (parent tables first)
 CREATE TABLE customers (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
-    email VARCHAR(255),
+    email VARCHAR(255) UNIQUE,
     phone VARCHAR(20)
 );
 
+-- Emulates the pooled customers_seq generator; starts above the ids data.sql assigns by hand
+CREATE TABLE customers_seq (
+    next_val BIGINT
+);
+INSERT INTO customers_seq VALUES (101);
+
 CREATE TABLE flights (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     airline_name VARCHAR(255) NOT NULL,
+    flight_number VARCHAR(16),
     total_seats INT NOT NULL,
     booked_seats INT NOT NULL DEFAULT 0,
     flight_date DATE NOT NULL,
-    price DECIMAL(10,2) NOT NULL
+    price DECIMAL(10,2) NOT NULL,
+    CONSTRAINT uk_flights_schedule UNIQUE (airline_name, flight_date, flight_number)
+);
+
+-- Emulates the pooled flights_seq generator; starts above the ids data.sql assigns by hand
+CREATE TABLE flights_seq (
+    next_val BIGINT
+);
+INSERT INTO flights_seq VALUES (101);
+
+-- MySQL has no sequences; Hibernate emulates the pooled bookings_seq generator with this table
+CREATE TABLE bookings_seq (
+    next_val BIGINT
 );
+INSERT INTO bookings_seq VALUES (1);
 
 CREATE TABLE bookings (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     flight_id BIGINT NOT NULL,
     customer_id BIGINT NOT NULL,
     price DECIMAL(10,2) NOT NULL,
     booking_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    idempotency_key VARCHAR(64) UNIQUE,
     FOREIGN KEY (flight_id) REFERENCES flights(id),
     FOREIGN KEY (customer_id) REFERENCES customers(id)
-); 
\ No newline at end of file
+); 
+
+-- Report queries filter bookings by date and join them to flights
+CREATE INDEX idx_bookings_booking_date ON bookings (booking_date);
+CREATE INDEX idx_bookings_flight_id ON bookings (flight_id);
@@ -45,4 +45,19 @@ public class BackendSmokeTest {
         mockMvc.perform(get("/api/bookings"))
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void reportEndpoints_ReturnOk() throws Exception {
+        mockMvc.perform(get("/api/reports/revenue")
+                .param("airline", "Smoke Air").param("startDate", "2025-01-01").param("endDate", "2030-12-31"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/reports/airline-performance"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/reports/booking-trends")
+                .param("startDate", "2025-01-01").param("endDate", "2030-12-31"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/reports/revenue-analysis")
+                .param("startDate", "2025-01-01").param("endDate", "2030-12-31"))
+                .andExpect(status().isOk());
+    }
+}
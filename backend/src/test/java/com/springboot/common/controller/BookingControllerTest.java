@@ -3,20 +3,29 @@ package com.springboot.common.controller;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.springboot.common.dto.BatchBookingResponseDTO;
+import com.springboot.common.dto.BatchCancellationResponseDTO;
 import com.springboot.common.dto.BookingDTO;
+import com.springboot.common.dto.BookingResultDTO;
 import com.springboot.common.dto.BookingRequestDTO;
+import com.springboot.common.dto.PageDTO;
 import com.springboot.common.service.BookingService;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,7 +34,6 @@ class BookingControllerTest {
     @Mock
     private BookingService bookingService;
 
-    @InjectMocks
     private BookingController bookingController;
 
     private BookingRequestDTO testBookingRequest;
@@ -33,6 +41,8 @@ class BookingControllerTest {
 
     @BeforeEach
     void setUp() {
+        bookingController = new BookingController(bookingService, new ObjectMapper().findAndRegisterModules());
+
         testBookingRequest = new BookingRequestDTO();
         testBookingRequest.setCustomerId(1L);
         testBookingRequest.setFlightId(1L);
@@ -49,13 +59,45 @@ class BookingControllerTest {
     @Test
     void testBook_Success() {
         when(bookingService.createBooking(any(BookingRequestDTO.class))).thenReturn(testBookingDTO);
-        ResponseEntity<BookingDTO> response = bookingController.book(testBookingRequest);
+        ResponseEntity<BookingDTO> response = bookingController.book(null, testBookingRequest);
         assert response.getStatusCode().is2xxSuccessful();
         assert response.getBody() != null;
         assert response.getBody().getId() == 1L;
         verify(bookingService).createBooking(any(BookingRequestDTO.class));
     }
 
+    @Test
+    void testBook_WithIdempotencyKey() {
+        when(bookingService.createBooking(testBookingRequest, "retry-1")).thenReturn(testBookingDTO);
+        ResponseEntity<BookingDTO> response = bookingController.book("retry-1", testBookingRequest);
+        assert response.getStatusCode().is2xxSuccessful();
+        assert response.getBody() == testBookingDTO;
+        verify(bookingService, never()).createBooking(any(BookingRequestDTO.class));
+    }
+
+    @Test
+    void testBookBatch_Success() {
+        BatchBookingResponseDTO batch = new BatchBookingResponseDTO(1, 1,
+                Arrays.asList(new BookingResultDTO(0, BookingResultDTO.Status.BOOKED, testBookingDTO)));
+        when(bookingService.createBookings(anyList())).thenReturn(batch);
+        ResponseEntity<BatchBookingResponseDTO> response = bookingController.bookBatch(Arrays.asList(testBookingRequest));
+        assert response.getStatusCode().is2xxSuccessful();
+        assert response.getBody() != null;
+        assert response.getBody().getBooked() == 1;
+        verify(bookingService).createBookings(anyList());
+    }
+
+    @Test
+    void testCancelBatch_Success() {
+        BatchCancellationResponseDTO batch = new BatchCancellationResponseDTO(2, 1, Arrays.asList(99L));
+        when(bookingService.cancelBookings(anyList())).thenReturn(batch);
+        ResponseEntity<BatchCancellationResponseDTO> response = bookingController.cancelBatch(Arrays.asList(1L, 99L));
+        assert response.getStatusCode().is2xxSuccessful();
+        assert response.getBody() != null;
+        assert response.getBody().getCancelled() == 1;
+        verify(bookingService).cancelBookings(Arrays.asList(1L, 99L));
+    }
+
     @Test
     void testByCustomer_Success() {
         BookingDTO booking1 = new BookingDTO();
@@ -96,10 +138,41 @@ class BookingControllerTest {
         booking2.setCustomerId(2L);
         booking2.setFlightId(2L);
         booking2.setPrice(new BigDecimal("399.99"));
-        when(bookingService.findAllBookings()).thenReturn(Arrays.asList(booking1, booking2));
-        ResponseEntity<java.util.List<BookingDTO>> response = bookingController.getAllBookings();
+        when(bookingService.listBookings(null, null)).thenReturn(new PageDTO<>(Arrays.asList(booking1, booking2), null));
+        ResponseEntity<java.util.List<BookingDTO>> response = bookingController.getAllBookings(null, null);
         assert response.getStatusCode().is2xxSuccessful();
         assert response.getBody() != null;
-        verify(bookingService).findAllBookings();
+        verify(bookingService).listBookings(null, null);
+    }
+
+    @Test
+    void testExport_Ndjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<BookingDTO> sink = invocation.getArgument(0);
+            sink.accept(testBookingDTO);
+            sink.accept(testBookingDTO);
+            return null;
+        }).when(bookingService).streamBookings(any());
+        ResponseEntity<StreamingResponseBody> response = bookingController.export("ndjson");
+        assert MediaType.APPLICATION_NDJSON.equals(response.getHeaders().getContentType());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        String[] lines = out.toString().split("\n");
+        assert lines.length == 2;
+        assert lines[0].startsWith("{\"id\":1");
+    }
+
+    @Test
+    void testExport_JsonArray() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<BookingDTO> sink = invocation.getArgument(0);
+            sink.accept(testBookingDTO);
+            return null;
+        }).when(bookingService).streamBookings(any());
+        ResponseEntity<StreamingResponseBody> response = bookingController.export("json");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        String json = out.toString();
+        assert json.startsWith("[{") && json.endsWith("}]");
     }
-} 
\ No newline at end of file
+}
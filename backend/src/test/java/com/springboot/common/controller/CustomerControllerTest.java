@@ -3,7 +3,12 @@ package com.springboot.common.controller;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -12,10 +17,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 import com.springboot.common.dto.CustomerDTO;
+import com.springboot.common.dto.CustomerImportResultDTO;
+import com.springboot.common.dto.PageDTO;
 import com.springboot.common.service.CustomerService;
+import com.springboot.common.service.ImportFormat;
 
 @ExtendWith(MockitoExtension.class)
 class CustomerControllerTest {
@@ -66,10 +75,42 @@ class CustomerControllerTest {
         customer2.setId(2L);
         customer2.setName("Jane Smith");
         customer2.setEmail("jane.smith@example.com");
-        when(customerService.getAllCustomers()).thenReturn(Arrays.asList(customer1, customer2));
-        ResponseEntity<java.util.List<CustomerDTO>> response = customerController.getAllCustomers();
+        when(customerService.listCustomers(null, null)).thenReturn(new PageDTO<>(Arrays.asList(customer1, customer2), null));
+        ResponseEntity<java.util.List<CustomerDTO>> response = customerController.getAllCustomers(null, null);
         assert response.getStatusCode().is2xxSuccessful();
         assert response.getBody() != null;
-        verify(customerService).getAllCustomers();
+        verify(customerService).listCustomers(null, null);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testByIds_Success() {
+        CustomerDTO customer = new CustomerDTO(1L, "John Doe", "john.doe@example.com");
+        List<Long> ids = Arrays.asList(1L, 2L);
+        when(customerService.getCustomersByIds(ids)).thenReturn(Map.of(1L, customer));
+        ResponseEntity<Map<Long, CustomerDTO>> response = customerController.byIds(ids);
+        assert response.getStatusCode().is2xxSuccessful();
+        assert response.getBody() != null;
+        assert response.getBody().size() == 1;
+        verify(customerService).getCustomersByIds(ids);
+    }
+
+    @Test
+    void testGetByEmail_NotFound() {
+        when(customerService.getCustomerByEmail("nobody@example.com")).thenReturn(Optional.empty());
+        ResponseEntity<CustomerDTO> response = customerController.getByEmail("nobody@example.com");
+        assert response.getStatusCode().value() == 404;
+        verify(customerService).getCustomerByEmail("nobody@example.com");
+    }
+
+    @Test
+    void testImport_PicksFormatFromContentType() {
+        CustomerImportResultDTO result = new CustomerImportResultDTO(1, 1, 0, List.of());
+        when(customerService.importCustomers(any(), eq(ImportFormat.NDJSON))).thenReturn(result);
+        InputStream body = new ByteArrayInputStream(
+                "{\"name\":\"John Doe\",\"email\":\"john.doe@example.com\"}\n".getBytes(StandardCharsets.UTF_8));
+        ResponseEntity<CustomerImportResultDTO> response = customerController.importCustomers(MediaType.APPLICATION_NDJSON, body);
+        assert response.getStatusCode().is2xxSuccessful();
+        assert response.getBody() != null;
+        assert response.getBody().getImported() == 1;
+    }
+}
@@ -3,10 +3,15 @@ package com.springboot.common.controller;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,11 +20,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import com.springboot.common.dto.FareDayDTO;
 import com.springboot.common.dto.FlightDTO;
+import com.springboot.common.dto.FlightImportResultDTO;
+import com.springboot.common.dto.PageDTO;
 import com.springboot.common.model.Flight;
 import com.springboot.common.service.FlightService;
+import com.springboot.common.service.ImportFormat;
+import com.springboot.common.util.KeysetCursor;
 
 @ExtendWith(MockitoExtension.class)
 class FlightControllerTest {
@@ -82,12 +93,23 @@ class FlightControllerTest {
         flight2.setPrice(new BigDecimal("299.99"));
 
         List<FlightDTO> flights = Arrays.asList(flight1, flight2);
-        when(flightService.listAll()).thenReturn(flights);
-        ResponseEntity<List<FlightDTO>> response = flightController.all();
+        when(flightService.listFlights(null, null)).thenReturn(new PageDTO<>(flights, null));
+        ResponseEntity<List<FlightDTO>> response = flightController.all(null, null);
         assert response.getStatusCode() == HttpStatus.OK;
         assert response.getBody() != null;
         assert response.getBody().size() == 2;
-        verify(flightService).listAll();
+        assert !response.getHeaders().containsKey(KeysetCursor.HEADER);
+        verify(flightService).listFlights(null, null);
+    }
+
+    @Test
+    void testAll_NextCursorHeader() {
+        String cursor = KeysetCursor.encode(1L);
+        when(flightService.listFlights(null, 1)).thenReturn(new PageDTO<>(List.of(testFlightDTO), cursor));
+        ResponseEntity<List<FlightDTO>> response = flightController.all(null, 1);
+        assert response.getStatusCode() == HttpStatus.OK;
+        assert cursor.equals(response.getHeaders().getFirst(KeysetCursor.HEADER));
+        verify(flightService).listFlights(null, 1);
     }
 
     @Test
@@ -145,6 +167,53 @@ class FlightControllerTest {
         verify(flightService).checkAvailability(flightId);
     }
 
+    @Test
+    void testAvailabilityBatch_Success() {
+        List<Long> ids = Arrays.asList(1L, 2L);
+        when(flightService.checkAvailability(ids)).thenReturn(Map.of(1L, 150, 2L, 0));
+        ResponseEntity<Map<Long, Integer>> response = flightController.availabilityBatch(ids);
+        assert response.getStatusCode() == HttpStatus.OK;
+        assert response.getBody() != null;
+        assert response.getBody().get(1L) == 150;
+        verify(flightService).checkAvailability(ids);
+    }
+
+    @Test
+    void testByIds_Success() {
+        List<Long> ids = Arrays.asList(1L);
+        when(flightService.getFlightsByIds(ids)).thenReturn(Map.of(1L, testFlightDTO));
+        ResponseEntity<Map<Long, FlightDTO>> response = flightController.byIds(ids);
+        assert response.getStatusCode() == HttpStatus.OK;
+        assert response.getBody() != null;
+        assert response.getBody().size() == 1;
+        verify(flightService).getFlightsByIds(ids);
+    }
+
+    @Test
+    void testSearch_Success() {
+        LocalDate from = LocalDate.of(2025, 8, 1);
+        when(flightService.searchFlights(from, null, "Test Airlines", new BigDecimal("300"), 2, 5))
+                .thenReturn(Arrays.asList(testFlightDTO));
+        ResponseEntity<List<FlightDTO>> response = flightController.search(from, null, "Test Airlines",
+                new BigDecimal("300"), 2, 5);
+        assert response.getStatusCode() == HttpStatus.OK;
+        assert response.getBody() != null;
+        assert response.getBody().size() == 1;
+        verify(flightService).searchFlights(from, null, "Test Airlines", new BigDecimal("300"), 2, 5);
+    }
+
+    @Test
+    void testFareCalendar_Success() {
+        YearMonth month = YearMonth.of(2025, 8);
+        when(flightService.getFareCalendar(month, null)).thenReturn(Arrays.asList(
+                new FareDayDTO(LocalDate.of(2025, 8, 1), new BigDecimal("299.99"), 150, 1)));
+        ResponseEntity<List<FareDayDTO>> response = flightController.fareCalendar(month, null);
+        assert response.getStatusCode() == HttpStatus.OK;
+        assert response.getBody() != null;
+        assert response.getBody().size() == 1;
+        verify(flightService).getFareCalendar(month, null);
+    }
+
     @Test
     void testGetFutureFlightsToday_Success() {
         List<FlightDTO> flights = Arrays.asList(testFlightDTO);
@@ -155,4 +224,17 @@ class FlightControllerTest {
         assert response.getBody().size() == 1;
         verify(flightService).getFutureFlights(any(LocalDate.class));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testImportFlights_Csv() {
+        FlightImportResultDTO result = new FlightImportResultDTO(1, 1, 0, 0, 0, 5, 200.0, List.of());
+        when(flightService.importFlights(any(), eq(ImportFormat.CSV))).thenReturn(result);
+        InputStream body = new ByteArrayInputStream(("airlineName,flightNumber,flightDate,totalSeats,price\n"
+                + "Test Airlines,TA 100,2025-08-15,150,299.99\n").getBytes(StandardCharsets.UTF_8));
+        ResponseEntity<FlightImportResultDTO> response =
+                flightController.importFlights(MediaType.parseMediaType("text/csv; charset=UTF-8"), body);
+        assert response.getStatusCode() == HttpStatus.OK;
+        assert response.getBody() != null;
+        assert response.getBody().getInserted() == 1;
+    }
+}
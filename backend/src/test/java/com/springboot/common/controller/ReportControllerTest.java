@@ -11,6 +11,7 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -63,14 +64,29 @@ class ReportControllerTest {
     @Test
     void testGetDashboardStats_Success() throws Exception {
         // Arrange
-        when(reportService.getDashboardStats()).thenReturn(testDashboardStats);
+        when(reportService.getDashboardStats(null)).thenReturn(testDashboardStats);
 
         // Act & Assert
         mockMvc.perform(get("/api/reports/dashboard"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
 
-        verify(reportService).getDashboardStats();
+        verify(reportService).getDashboardStats(null);
+    }
+
+    @Test
+    void testGetDashboardStats_Include() throws Exception {
+        // Arrange
+        when(reportService.getDashboardStats(Set.of("totalFlights", "totalRevenue")))
+                .thenReturn(Map.of("totalFlights", 5, "totalRevenue", new BigDecimal("2999.90")));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/reports/dashboard").param("include", "totalFlights,totalRevenue"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalFlights").value(5))
+                .andExpect(jsonPath("$.totalBookings").doesNotExist());
+
+        verify(reportService).getDashboardStats(Set.of("totalFlights", "totalRevenue"));
     }
 
     @Test
@@ -200,13 +216,13 @@ class ReportControllerTest {
         emptyStats.put("totalCustomers", 0);
         emptyStats.put("totalRevenue", BigDecimal.ZERO);
 
-        when(reportService.getDashboardStats()).thenReturn(emptyStats);
+        when(reportService.getDashboardStats(null)).thenReturn(emptyStats);
 
         // Act & Assert
         mockMvc.perform(get("/api/reports/dashboard"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
 
-        verify(reportService).getDashboardStats();
+        verify(reportService).getDashboardStats(null);
     }
 } 
\ No newline at end of file
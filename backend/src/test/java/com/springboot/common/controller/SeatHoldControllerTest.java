@@ -0,0 +1,61 @@
+package com.springboot.common.controller;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import com.springboot.common.dto.BookingDTO;
+import com.springboot.common.dto.ConfirmHoldRequestDTO;
+import com.springboot.common.dto.HoldDTO;
+import com.springboot.common.dto.HoldRequestDTO;
+import com.springboot.common.service.SeatHoldService;
+
+@ExtendWith(MockitoExtension.class)
+class SeatHoldControllerTest {
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @InjectMocks
+    private SeatHoldController seatHoldController;
+
+    @Test
+    void testHold_Created() {
+        HoldDTO hold = new HoldDTO("abc", 1L, 2, Instant.now().plusSeconds(60));
+        when(seatHoldService.placeHold(eq(1L), any(HoldRequestDTO.class))).thenReturn(hold);
+        ResponseEntity<HoldDTO> response = seatHoldController.hold(1L, null);
+        assert response.getStatusCode().value() == 201;
+        assert response.getHeaders().getLocation().toString().equals("/api/flights/1/holds/abc");
+        verify(seatHoldService).placeHold(eq(1L), any(HoldRequestDTO.class));
+    }
+
+    @Test
+    void testConfirm_Success() {
+        ConfirmHoldRequestDTO req = new ConfirmHoldRequestDTO();
+        req.setCustomerId(1L);
+        req.setPrice(new BigDecimal("299.99"));
+        BookingDTO booking = new BookingDTO(1L, 1L, 1L, new BigDecimal("299.99"), null);
+        when(seatHoldService.confirmHold(1L, "abc", req)).thenReturn(Arrays.asList(booking));
+        ResponseEntity<List<BookingDTO>> response = seatHoldController.confirm(1L, "abc", req);
+        assert response.getStatusCode().is2xxSuccessful();
+        assert response.getBody().size() == 1;
+    }
+
+    @Test
+    void testRelease_NoContent() {
+        ResponseEntity<Void> response = seatHoldController.release(1L, "abc");
+        assert response.getStatusCode().value() == 204;
+        verify(seatHoldService).releaseHold(1L, "abc");
+    }
+}
@@ -0,0 +1,147 @@
+package com.springboot.common.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.springboot.common.dto.BookingRequestDTO;
+import com.springboot.common.dto.CustomerDTO;
+import com.springboot.common.dto.FlightDTO;
+import com.springboot.common.dto.ReportDTO;
+import com.springboot.common.repository.BookingRepository;
+import com.springboot.common.repository.FlightRepository;
+
+@SpringBootTest
+class BookingConcurrencyTest {
+
+    private static final int SEATS = 300;
+    private static final int ATTEMPTS = 3000;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingRollupStore rollups;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testConcurrentBookings_NeverOversell() throws Exception {
+        FlightDTO flight = flightService.addFlight(new FlightDTO(null, "Concurrency Air", SEATS, SEATS,
+                LocalDate.now().plusDays(30), new BigDecimal("199.99")));
+        CustomerDTO customer = customerService.addCustomer(
+                new CustomerDTO(null, "Load Test", "load-" + System.nanoTime() + "@email.com"));
+
+        // Single-threaded baseline on a second flight of the same size
+        FlightDTO baselineFlight = flightService.addFlight(new FlightDTO(null, "Baseline Air", SEATS, SEATS,
+                LocalDate.now().plusDays(30), new BigDecimal("199.99")));
+        long baselineStart = System.nanoTime();
+        int baselineBooked = book(baselineFlight.getId(), customer.getId(), ATTEMPTS, 1);
+        long baselineNanos = System.nanoTime() - baselineStart;
+
+        long start = System.nanoTime();
+        int booked = book(flight.getId(), customer.getId(), ATTEMPTS, 16);
+        long elapsedNanos = System.nanoTime() - start;
+
+        assertEquals(SEATS, baselineBooked);
+        assertEquals(SEATS, booked);
+        assertEquals(SEATS, flightRepository.findById(flight.getId()).orElseThrow().getBookedSeats());
+        assertEquals(SEATS, bookingRepository.findAll().stream()
+                .filter(b -> b.getFlight().getId().equals(flight.getId()))
+                .count());
+        assertEquals(0, flightService.checkAvailability(flight.getId()));
+
+        // Incremental rollups agree with a rebuild from the table
+        LocalDate today = LocalDate.now();
+        assertEquals(SEATS, rollups.totalsByAirline(today, today).get("Concurrency Air").getBookings());
+        rollups.load();
+        assertEquals(SEATS, rollups.totalsByAirline(today, today).get("Concurrency Air").getBookings());
+        ReportDTO performance = reportService.getAirlinePerformance().stream()
+                .filter(r -> r.getAirlineName().equals("Concurrency Air"))
+                .findFirst().orElseThrow();
+        assertEquals(SEATS, performance.getTicketsSold());
+        assertEquals(new BigDecimal("199.99").multiply(BigDecimal.valueOf(SEATS)), performance.getTotalRevenue());
+
+        // Reported rather than asserted: wall-clock ratios are too noisy on shared CI runners
+        System.out.printf("Bookings: %d attempts, 1 thread %.0f/s, 16 threads %.0f/s%n", ATTEMPTS,
+                ATTEMPTS / (baselineNanos / 1e9), ATTEMPTS / (elapsedNanos / 1e9));
+    }
+
+    @Test
+    void testConcurrentClaimStatements_NeverOversell() throws Exception {
+        // Bypasses the in-memory gate so the conditional UPDATE alone decides under contention
+        FlightDTO flight = flightService.addFlight(new FlightDTO(null, "Contention Air", SEATS, SEATS,
+                LocalDate.now().plusDays(30), new BigDecimal("199.99")));
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger claimed = new AtomicInteger();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            pool.submit(() -> {
+                start.await();
+                claimed.addAndGet(tx.execute(status -> flightRepository.claimSeat(flight.getId())));
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+
+        assertEquals(SEATS, claimed.get());
+        assertEquals(SEATS, flightRepository.findById(flight.getId()).orElseThrow().getBookedSeats());
+    }
+
+    private int book(Long flightId, Long customerId, int attempts, int threads) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        for (int i = 0; i < attempts; i++) {
+            pool.submit(() -> {
+                start.await();
+                BookingRequestDTO req = new BookingRequestDTO();
+                req.setFlightId(flightId);
+                req.setCustomerId(customerId);
+                req.setPrice(new BigDecimal("199.99"));
+                try {
+                    bookingService.createBooking(req);
+                    booked.incrementAndGet();
+                } catch (RuntimeException soldOut) {
+                    // expected once the flight is full
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+        return booked.get();
+    }
+}
@@ -0,0 +1,95 @@
+package com.springboot.common.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.springboot.common.dto.BatchCancellationResponseDTO;
+import com.springboot.common.dto.BookingDTO;
+import com.springboot.common.dto.BookingRequestDTO;
+import com.springboot.common.dto.CustomerDTO;
+import com.springboot.common.dto.FlightDTO;
+import com.springboot.common.dto.PageDTO;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class BookingQueryCountTest {
+
+    private static final int BOOKINGS = 5;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private CustomerDTO customer;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        customer = customerService.addCustomer(
+                new CustomerDTO(null, "Query Count", "queries-" + System.nanoTime() + "@email.com"));
+        // Each booking on its own flight, so eager loading would cost one extra select per row
+        for (int i = 0; i < BOOKINGS; i++) {
+            FlightDTO flight = flightService.addFlight(new FlightDTO(null, "Query Air " + i, 10, 10,
+                    LocalDate.now().plusDays(30), new BigDecimal("99.99")));
+            BookingRequestDTO req = new BookingRequestDTO();
+            req.setFlightId(flight.getId());
+            req.setCustomerId(customer.getId());
+            req.setPrice(new BigDecimal("99.99"));
+            bookingService.createBooking(req);
+        }
+        statistics.clear();
+    }
+
+    @Test
+    void testGetBookingsByCustomer_OneStatement() {
+        List<BookingDTO> bookings = bookingService.getBookingsByCustomer(customer.getId());
+
+        assertEquals(BOOKINGS, bookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testListBookings_OneStatement() {
+        PageDTO<BookingDTO> page = bookingService.listBookings(null, BOOKINGS);
+
+        assertEquals(BOOKINGS, page.getItems().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testCancelBookings_OneLockingReadAndOneDelete() {
+        List<Long> ids = bookingService.getBookingsByCustomer(customer.getId()).stream()
+                .map(BookingDTO::getId)
+                .toList();
+        statistics.clear();
+
+        BatchCancellationResponseDTO response = bookingService.cancelBookings(ids);
+
+        assertEquals(BOOKINGS, response.getCancelled());
+        // The locking read, the delete, and one seat release per flight
+        assertEquals(2 + BOOKINGS, statistics.getPrepareStatementCount());
+        assertTrue(bookingService.getBookingsByCustomer(customer.getId()).isEmpty());
+    }
+}
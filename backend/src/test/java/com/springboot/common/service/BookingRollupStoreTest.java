@@ -0,0 +1,203 @@
+package com.springboot.common.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.springboot.common.repository.BookingRepository;
+import com.springboot.common.repository.BookingRollupView;
+import com.springboot.common.repository.FlightRepository;
+
+@ExtendWith(MockitoExtension.class)
+class BookingRollupStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 8, 1);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookingRollupStore rollups;
+
+    @BeforeEach
+    void setUp() {
+        rollups = new BookingRollupStore(bookingRepository, flightRepository, transactionManager);
+    }
+
+    @Test
+    void testLoad_ReadsRollupsFromRepository() {
+        when(bookingRepository.summarizeByAirlineAndDay()).thenReturn(List.of(
+                row("Air A", DAY, 2, "400.00"),
+                row("Air B", DAY, 1, "150.00"),
+                row("Air A", DAY.plusDays(1), 3, "600.00")));
+
+        NavigableMap<LocalDate, BookingRollupStore.Totals> daily = rollups.dailyTotals(DAY, DAY.plusDays(1));
+        Map<String, BookingRollupStore.Totals> byAirline = rollups.totalsByAirline(DAY, DAY.plusDays(1));
+
+        assertEquals(2, daily.size());
+        assertEquals(3, daily.get(DAY).getBookings());
+        assertEquals(new BigDecimal("550.00"), daily.get(DAY).getRevenue());
+        assertEquals(5, byAirline.get("Air A").getBookings());
+        assertEquals(new BigDecimal("1000.00"), byAirline.get("Air A").getRevenue());
+        assertEquals(1, byAirline.get("Air B").getBookings());
+        verify(bookingRepository, times(1)).summarizeByAirlineAndDay();
+    }
+
+    @Test
+    void testDailyTotals_RangeIsInclusive() {
+        when(bookingRepository.summarizeByAirlineAndDay()).thenReturn(List.of(
+                row("Air A", DAY.minusDays(1), 1, "100.00"),
+                row("Air A", DAY, 1, "100.00"),
+                row("Air A", DAY.plusDays(1), 1, "100.00"),
+                row("Air A", DAY.plusDays(2), 1, "100.00")));
+
+        assertEquals(List.of(DAY, DAY.plusDays(1)), List.copyOf(rollups.dailyTotals(DAY, DAY.plusDays(1)).keySet()));
+    }
+
+    @Test
+    void testRecordBookingsAndCancellation_AdjustTotals() {
+        rollups.load();
+        when(flightRepository.findAirlineNameById(1L)).thenReturn(Optional.of("Air A"));
+
+        rollups.recordBookings(1L, DAY.atTime(10, 0), 2, new BigDecimal("398.00"));
+        rollups.recordBookings(1L, DAY.atTime(11, 0), 1, new BigDecimal("199.00"));
+        rollups.recordCancellation("Air A", DAY.atTime(10, 0), new BigDecimal("199.00"));
+
+        BookingRollupStore.Totals totals = rollups.totalsByAirline(DAY, DAY).get("Air A");
+        assertEquals(2, totals.getBookings());
+        assertEquals(new BigDecimal("398.00"), totals.getRevenue());
+        // The airline is looked up once per flight
+        verify(flightRepository, times(1)).findAirlineNameById(1L);
+    }
+
+    @Test
+    void testRecordCancellation_DropsEmptyEntries() {
+        rollups.load();
+        rollups.flightSaved(1L, "Air A");
+
+        rollups.recordBookings(1L, DAY.atStartOfDay(), 1, new BigDecimal("199.00"));
+        rollups.recordCancellation("Air A", DAY.atStartOfDay(), new BigDecimal("199.00"));
+
+        assertTrue(rollups.dailyTotals(DAY, DAY).isEmpty());
+        assertTrue(rollups.totalsByAirline(DAY, DAY).isEmpty());
+        verify(flightRepository, never()).findAirlineNameById(anyLong());
+    }
+
+    @Test
+    void testRecordCancellation_BeforeBookingLeavesNoNegativeTotals() {
+        rollups.load();
+
+        rollups.recordCancellation("Air A", DAY.atStartOfDay(), new BigDecimal("199.00"));
+
+        assertTrue(rollups.dailyTotals(DAY, DAY).isEmpty());
+        assertTrue(rollups.totalsByAirline(DAY, DAY).isEmpty());
+    }
+
+    @Test
+    void testRecordBookings_RebuildWaitsForCommitInProgress() throws Exception {
+        rollups.load();
+        rollups.flightSaved(1L, "Air A");
+        // Once the booking has committed, the rebuild reads it
+        when(bookingRepository.summarizeByAirlineAndDay()).thenReturn(List.of(row("Air A", DAY, 1, "199.00")));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            rollups.recordBookings(1L, DAY.atStartOfDay(), 1, new BigDecimal("199.00"));
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(s -> s.beforeCommit(false));
+
+            Future<?> rebuild = executor.submit(rollups::load);
+            assertThrows(TimeoutException.class, () -> rebuild.get(200, TimeUnit.MILLISECONDS));
+
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            rebuild.get(5, TimeUnit.SECONDS);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            executor.shutdownNow();
+        }
+
+        BookingRollupStore.Totals totals = rollups.totalsByAirline(DAY, DAY).get("Air A");
+        assertEquals(1, totals.getBookings());
+        assertEquals(new BigDecimal("199.00"), totals.getRevenue());
+        // Only the rebuild that was asked for reads the bookings
+        verify(bookingRepository, times(2)).summarizeByAirlineAndDay();
+    }
+
+    @Test
+    void testRecordBookings_RolledBackChangeIsNotApplied() {
+        rollups.load();
+        rollups.flightSaved(1L, "Air A");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            rollups.recordBookings(1L, DAY.atStartOfDay(), 1, new BigDecimal("199.00"));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        rollups.load();
+
+        assertTrue(rollups.dailyTotals(DAY, DAY).isEmpty());
+    }
+
+    @Test
+    void testRecordBookings_UnknownFlightIsIgnored() {
+        rollups.load();
+        when(flightRepository.findAirlineNameById(9L)).thenReturn(Optional.empty());
+
+        rollups.recordBookings(9L, DAY.atStartOfDay(), 1, new BigDecimal("199.00"));
+
+        assertTrue(rollups.dailyTotals(DAY, DAY).isEmpty());
+    }
+
+    @Test
+    void testReload_RebuildsFromRepository() {
+        rollups.load();
+        rollups.flightSaved(1L, "Air A");
+        rollups.recordBookings(1L, DAY.atStartOfDay(), 1, new BigDecimal("199.00"));
+        when(bookingRepository.summarizeByAirlineAndDay()).thenReturn(List.of(row("Air B", DAY, 1, "199.00")));
+
+        rollups.reload();
+
+        Map<String, BookingRollupStore.Totals> byAirline = rollups.totalsByAirline(DAY, DAY);
+        assertEquals(1, byAirline.size());
+        assertEquals(1, byAirline.get("Air B").getBookings());
+    }
+
+    private static BookingRollupView row(String airline, LocalDate day, long bookings, String revenue) {
+        return new BookingRollupView() {
+            public String getAirlineName() { return airline; }
+            public LocalDate getDay() { return day; }
+            public Long getBookings() { return bookings; }
+            public BigDecimal getRevenue() { return new BigDecimal(revenue); }
+        };
+    }
+}
@@ -5,26 +5,40 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.springboot.common.dto.BatchBookingResponseDTO;
+import com.springboot.common.dto.BatchCancellationResponseDTO;
 import com.springboot.common.dto.BookingDTO;
 import com.springboot.common.dto.BookingRequestDTO;
+import com.springboot.common.dto.BookingResultDTO;
+import com.springboot.common.dto.PageDTO;
 import com.springboot.common.model.Booking;
 import com.springboot.common.model.Customer;
 import com.springboot.common.model.Flight;
+import com.springboot.common.repository.BookingListView;
 import com.springboot.common.repository.BookingRepository;
+import com.springboot.common.repository.BookingSummaryView;
 import com.springboot.common.repository.CustomerRepository;
+import com.springboot.common.repository.FlightSeatsView;
 import com.springboot.common.repository.FlightRepository;
+import com.springboot.common.util.KeysetCursor;
 
 @ExtendWith(MockitoExtension.class)
 class BookingServiceTest {
@@ -38,7 +52,15 @@ class BookingServiceTest {
     @Mock
     private FlightRepository flightRepository;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SeatInventory seatInventory;
+
+    private BookingRollupStore rollups;
+
+    private SimpleMeterRegistry meters;
+
     private BookingServiceImpl bookingService;
 
     private Booking testBooking;
@@ -77,15 +99,25 @@ class BookingServiceTest {
         testBookingRequest.setCustomerId(1L);
         testBookingRequest.setFlightId(1L);
         testBookingRequest.setPrice(new BigDecimal("299.99"));
+
+        seatInventory = new SeatInventory(flightRepository);
+        seatInventory.load();
+        seatInventory.register(1L, 150, 0);
+        meters = new SimpleMeterRegistry();
+        rollups = new BookingRollupStore(bookingRepository, flightRepository, transactionManager);
+        rollups.load();
+        rollups.flightSaved(1L, "Test Airlines");
+        bookingService = new BookingServiceImpl(bookingRepository, flightRepository, customerRepository, seatInventory,
+                rollups, meters, transactionManager, 1000, 3600);
     }
 
     @Test
     void testCreateBooking_Success() {
         // Arrange
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(testFlight));
+        when(flightRepository.claimSeat(1L)).thenReturn(1);
+        when(flightRepository.getReferenceById(1L)).thenReturn(testFlight);
         when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
-        when(flightRepository.save(any(Flight.class))).thenReturn(testFlight);
 
         // Act
         BookingDTO result = bookingService.createBooking(testBookingRequest);
@@ -98,15 +130,60 @@ class BookingServiceTest {
         assertEquals(testFlight.getId(), result.getFlightId());
 
         verify(customerRepository).findById(1L);
-        verify(flightRepository).findById(1L);
+        verify(flightRepository).claimSeat(1L);
         verify(bookingRepository).save(any(Booking.class));
-        verify(flightRepository).save(any(Flight.class));
+        verify(flightRepository, never()).findById(anyLong());
+        verify(flightRepository, never()).save(any(Flight.class));
+    }
+
+    @Test
+    void testCreateBooking_IdempotencyKeyReplaysFirstBooking() {
+        // Arrange
+        when(bookingRepository.findListByIdempotencyKey("retry-1")).thenReturn(Optional.empty());
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(flightRepository.claimSeat(1L)).thenReturn(1);
+        when(flightRepository.getReferenceById(1L)).thenReturn(testFlight);
+        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+
+        // Act
+        BookingDTO first = bookingService.createBooking(testBookingRequest, "retry-1");
+        BookingDTO replay = bookingService.createBooking(testBookingRequest, "retry-1");
+
+        // Assert
+        assertSame(first, replay);
+        assertEquals(149, seatInventory.available(1L));
+        verify(flightRepository, times(1)).claimSeat(1L);
+        verify(bookingRepository, times(1)).save(argThat(b -> "retry-1".equals(b.getIdempotencyKey())));
+    }
+
+    @Test
+    void testCreateBooking_IdempotencyKeyFoundInDatabase() {
+        // Arrange
+        when(bookingRepository.findListByIdempotencyKey("retry-1")).thenReturn(Optional.of(listRow(testBooking)));
+
+        // Act
+        BookingDTO result = bookingService.createBooking(testBookingRequest, "retry-1");
+
+        // Assert
+        assertEquals(testBooking.getId(), result.getId());
+        assertEquals(150, seatInventory.available(1L));
+        verify(flightRepository, never()).claimSeat(anyLong());
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void testCreateBooking_IdempotencyKeyReusedForAnotherBooking() {
+        // Arrange
+        when(bookingRepository.findListByIdempotencyKey("retry-1")).thenReturn(Optional.of(listRow(testBooking)));
+        bookingService.createBooking(testBookingRequest, "retry-1");
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> bookingService.createBooking(request(2L, 1L), "retry-1"));
     }
 
     @Test
     void testCreateBooking_CustomerNotFound() {
         // Arrange
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(testFlight));
         when(customerRepository.findById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
@@ -114,7 +191,6 @@ class BookingServiceTest {
             bookingService.createBooking(testBookingRequest);
         });
 
-        verify(flightRepository).findById(1L);
         verify(customerRepository).findById(1L);
         verify(bookingRepository, never()).save(any(Booking.class));
     }
@@ -122,14 +198,14 @@ class BookingServiceTest {
     @Test
     void testCreateBooking_FlightNotFound() {
         // Arrange
-        when(flightRepository.findById(1L)).thenReturn(Optional.empty());
+        testBookingRequest.setFlightId(99L);
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> {
             bookingService.createBooking(testBookingRequest);
         });
 
-        verify(flightRepository).findById(1L);
+        verify(flightRepository, never()).findById(anyLong());
         verify(customerRepository, never()).findById(anyLong());
         verify(bookingRepository, never()).save(any(Booking.class));
     }
@@ -137,26 +213,69 @@ class BookingServiceTest {
     @Test
     void testCreateBooking_FlightFull() {
         // Arrange
-        testFlight.setAvailableSeats(0);
-        testFlight.setBookedSeats(150);
-        
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(testFlight));
+        seatInventory.register(1L, 150, 150);
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> {
             bookingService.createBooking(testBookingRequest);
         });
 
-        verify(flightRepository).findById(1L);
+        verify(flightRepository, never()).claimSeat(anyLong());
+        verify(flightRepository, never()).findById(anyLong());
         verify(customerRepository, never()).findById(anyLong());
         verify(bookingRepository, never()).save(any(Booking.class));
+        assertEquals(1.0, meters.get("bookings.rejected").tag("reason", "sold_out").counter().count());
+    }
+
+    @Test
+    void testCreateBookings_ReportsPerItemOutcome() {
+        // Arrange
+        seatInventory.register(1L, 150, 148);
+        BookingRequestDTO unknownFlight = request(99L, 1L);
+        BookingRequestDTO unknownCustomer = request(1L, 7L);
+        List<BookingRequestDTO> requests = Arrays.asList(
+                request(1L, 1L), request(1L, 1L), request(1L, 1L), unknownFlight, unknownCustomer);
+        when(customerRepository.findAllById(anySet())).thenReturn(Arrays.asList(testCustomer));
+        when(flightRepository.claimSeats(1L, 2)).thenReturn(1);
+        when(flightRepository.getReferenceById(1L)).thenReturn(testFlight);
+        when(customerRepository.getReferenceById(1L)).thenReturn(testCustomer);
+        when(bookingRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        // Act
+        BatchBookingResponseDTO result = bookingService.createBookings(requests);
+
+        // Assert
+        assertEquals(5, result.getRequested());
+        assertEquals(2, result.getBooked());
+        assertEquals(BookingResultDTO.Status.BOOKED, result.getResults().get(0).getStatus());
+        assertEquals(BookingResultDTO.Status.BOOKED, result.getResults().get(1).getStatus());
+        assertEquals(BookingResultDTO.Status.SOLD_OUT, result.getResults().get(2).getStatus());
+        assertEquals(BookingResultDTO.Status.FLIGHT_NOT_FOUND, result.getResults().get(3).getStatus());
+        assertEquals(BookingResultDTO.Status.CUSTOMER_NOT_FOUND, result.getResults().get(4).getStatus());
+        assertEquals(0, seatInventory.available(1L));
+
+        verify(flightRepository, times(1)).claimSeats(1L, 2);
+        verify(bookingRepository, times(1)).saveAll(anyList());
+        assertEquals(2.0, meters.get("bookings.created").counter().count());
+        assertEquals(1.0, meters.get("bookings.rejected").tag("reason", "sold_out").counter().count());
+        assertEquals(1.0, meters.get("bookings.rejected").tag("reason", "customer_not_found").counter().count());
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void testCreateBookings_TooLarge() {
+        List<BookingRequestDTO> requests = java.util.Collections.nCopies(
+                BookingServiceImpl.MAX_BATCH_SIZE + 1, testBookingRequest);
+
+        assertThrows(RuntimeException.class, () -> bookingService.createBookings(requests));
+
+        verify(bookingRepository, never()).saveAll(anyList());
     }
 
     @Test
     void testGetBookingsByCustomer_Success() {
         // Arrange
-        List<Booking> bookings = Arrays.asList(testBooking);
-        when(bookingRepository.findByCustomerId(1L)).thenReturn(bookings);
+        when(bookingRepository.findListByCustomerId(1L)).thenReturn(Arrays.asList(listRow(testBooking)));
 
         // Act
         List<BookingDTO> result = bookingService.getBookingsByCustomer(1L);
@@ -167,13 +286,16 @@ class BookingServiceTest {
         assertEquals(testBooking.getId(), result.get(0).getId());
         assertEquals(testBooking.getPrice(), result.get(0).getPrice());
 
-        verify(bookingRepository).findByCustomerId(1L);
+        assertEquals(testFlight.getId(), result.get(0).getFlightId());
+
+        verify(bookingRepository).findListByCustomerId(1L);
+        verify(bookingRepository, never()).findByCustomerId(anyLong());
     }
 
     @Test
     void testGetBookingsByCustomer_EmptyList() {
         // Arrange
-        when(bookingRepository.findByCustomerId(1L)).thenReturn(Arrays.asList());
+        when(bookingRepository.findListByCustomerId(1L)).thenReturn(Arrays.asList());
 
         // Act
         List<BookingDTO> result = bookingService.getBookingsByCustomer(1L);
@@ -182,37 +304,38 @@ class BookingServiceTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
 
-        verify(bookingRepository).findByCustomerId(1L);
+        verify(bookingRepository).findListByCustomerId(1L);
     }
 
     @Test
     void testCancelBooking_Success() {
         // Arrange
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
-        when(flightRepository.save(any(Flight.class))).thenReturn(testFlight);
+        when(bookingRepository.findSummaryById(1L)).thenReturn(Optional.of(summary(testBooking)));
+        when(bookingRepository.deleteBookingById(1L)).thenReturn(1);
 
         // Act
         bookingService.cancelBooking(1L);
 
         // Assert
-        verify(bookingRepository).findById(1L);
-        verify(bookingRepository).deleteById(1L);
-        verify(flightRepository).save(any(Flight.class));
+        verify(bookingRepository).deleteBookingById(1L);
+        verify(flightRepository).releaseSeat(1L);
+        verify(flightRepository, never()).findById(anyLong());
+        verify(flightRepository, never()).save(any(Flight.class));
     }
 
     @Test
     void testCancelBooking_BookingNotFound() {
         // Arrange
-        when(bookingRepository.findById(1L)).thenReturn(Optional.empty());
+        when(bookingRepository.findSummaryById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> {
             bookingService.cancelBooking(1L);
         });
 
-        verify(bookingRepository).findById(1L);
-        verify(bookingRepository, never()).deleteById(anyLong());
-        verify(flightRepository, never()).save(any(Flight.class));
+        verify(bookingRepository).findSummaryById(1L);
+        verify(bookingRepository, never()).deleteBookingById(anyLong());
+        verify(flightRepository, never()).releaseSeat(anyLong());
     }
 
     @Test
@@ -230,69 +353,267 @@ class BookingServiceTest {
         booking2.setFlight(testFlight);
         booking2.setPrice(new BigDecimal("399.99"));
 
-        List<Booking> bookings = Arrays.asList(booking1, booking2);
-        when(bookingRepository.findAll()).thenReturn(bookings);
+        when(bookingRepository.findPageAfter(0L, KeysetCursor.fetchLimit(KeysetCursor.DEFAULT_PAGE_SIZE)))
+            .thenReturn(Arrays.asList(listRow(booking1), listRow(booking2)));
 
         // Act
-        List<BookingDTO> result = bookingService.findAllBookings();
+        PageDTO<BookingDTO> result = bookingService.listBookings(null, null);
 
         // Assert
         assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals(booking1.getId(), result.get(0).getId());
-        assertEquals(booking2.getId(), result.get(1).getId());
+        assertEquals(2, result.getItems().size());
+        assertEquals(booking1.getId(), result.getItems().get(0).getId());
+        assertEquals(booking2.getId(), result.getItems().get(1).getId());
+        assertEquals(testFlight.getId(), result.getItems().get(0).getFlightId());
+        assertNull(result.getNextCursor());
 
-        verify(bookingRepository).findAll();
+        verify(bookingRepository, never()).findAll();
     }
 
     @Test
     void testFindAllBookings_EmptyList() {
         // Arrange
-        when(bookingRepository.findAll()).thenReturn(Arrays.asList());
+        when(bookingRepository.findPageAfter(0L, KeysetCursor.fetchLimit(KeysetCursor.DEFAULT_PAGE_SIZE)))
+            .thenReturn(Arrays.asList());
 
         // Act
-        List<BookingDTO> result = bookingService.findAllBookings();
+        PageDTO<BookingDTO> result = bookingService.listBookings(null, null);
 
         // Assert
         assertNotNull(result);
-        assertTrue(result.isEmpty());
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void testStreamBookings_HandsOnEveryRow() {
+        // Arrange
+        Booking booking = new Booking(testFlight, testCustomer, new BigDecimal("299.99"));
+        booking.setId(3L);
+        when(bookingRepository.streamAll()).thenReturn(Stream.of(listRow(booking), listRow(booking)));
+        List<BookingDTO> received = new ArrayList<>();
+
+        // Act
+        bookingService.streamBookings(received::add);
+
+        // Assert
+        assertEquals(2, received.size());
+        assertEquals(3L, received.get(0).getId());
+        assertEquals(testCustomer.getId(), received.get(0).getCustomerId());
+        verify(bookingRepository, never()).findAll();
+    }
+
+    @Test
+    void testListBookings_ResumesAfterCursor() {
+        // Arrange
+        Booking booking = new Booking();
+        booking.setId(8L);
+        booking.setCustomer(testCustomer);
+        booking.setFlight(testFlight);
+        booking.setPrice(new BigDecimal("299.99"));
+        when(bookingRepository.findPageAfter(7L, KeysetCursor.fetchLimit(1))).thenReturn(Arrays.asList(listRow(booking)));
+
+        // Act
+        PageDTO<BookingDTO> result = bookingService.listBookings(KeysetCursor.encode(7L), 1);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertEquals(8L, result.getItems().get(0).getId());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void testCreateBooking_DatabaseRefusesSeat() {
+        // Arrange
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(flightRepository.claimSeat(1L)).thenReturn(0);
 
-        verify(bookingRepository).findAll();
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> {
+            bookingService.createBooking(testBookingRequest);
+        });
+
+        verify(bookingRepository, never()).save(any(Booking.class));
+        assertEquals(1.0, meters.get("bookings.seat.conflicts").counter().count());
     }
 
     @Test
     void testCreateBooking_UpdatesFlightSeats() {
         // Arrange
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(testFlight));
+        when(flightRepository.claimSeat(1L)).thenReturn(1);
+        when(flightRepository.getReferenceById(1L)).thenReturn(testFlight);
+        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+
+        // Act
+        bookingService.createBooking(testBookingRequest);
+
+        // Assert
+        assertEquals(149, seatInventory.available(1L));
+    }
+
+    @Test
+    void testCreateAndCancelBooking_MaintainRollups() {
+        // Arrange
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(flightRepository.claimSeat(1L)).thenReturn(1);
+        when(flightRepository.getReferenceById(1L)).thenReturn(testFlight);
         when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
-        when(flightRepository.save(any(Flight.class))).thenReturn(testFlight);
+        when(bookingRepository.findSummaryById(1L)).thenReturn(Optional.of(summary(testBooking)));
+        when(bookingRepository.deleteBookingById(1L)).thenReturn(1);
+        LocalDate today = testBooking.getBookingDate().toLocalDate();
 
         // Act
         bookingService.createBooking(testBookingRequest);
+        BookingRollupStore.Totals afterBooking = rollups.totalsByAirline(today, today).get("Test Airlines");
+        bookingService.cancelBooking(1L);
 
         // Assert
-        verify(flightRepository).save(argThat(flight -> 
-            flight.getAvailableSeats() == 149 && 
-            flight.getBookedSeats() == 1
-        ));
+        assertEquals(1, afterBooking.getBookings());
+        assertEquals(new BigDecimal("299.99"), afterBooking.getRevenue());
+        assertTrue(rollups.totalsByAirline(today, today).isEmpty());
+        verify(bookingRepository, never()).findAll();
+    }
+
+    private static BookingSummaryView summary(Booking booking) {
+        return new BookingSummaryView() {
+            public Long getId() { return booking.getId(); }
+            public Long getFlightId() { return booking.getFlight().getId(); }
+            public String getAirlineName() { return booking.getFlight().getAirlineName(); }
+            public BigDecimal getPrice() { return booking.getPrice(); }
+            public LocalDateTime getBookingDate() { return booking.getBookingDate(); }
+        };
+    }
+
+    private static BookingListView listRow(Booking booking) {
+        return new BookingListView() {
+            public Long getId() { return booking.getId(); }
+            public Long getFlightId() { return booking.getFlight().getId(); }
+            public Long getCustomerId() { return booking.getCustomer().getId(); }
+            public BigDecimal getPrice() { return booking.getPrice(); }
+            public LocalDateTime getBookingDate() { return booking.getBookingDate(); }
+        };
+    }
+
+    private static BookingRequestDTO request(Long flightId, Long customerId) {
+        BookingRequestDTO req = new BookingRequestDTO();
+        req.setFlightId(flightId);
+        req.setCustomerId(customerId);
+        req.setPrice(new BigDecimal("299.99"));
+        return req;
     }
 
     @Test
     void testCancelBooking_UpdatesFlightSeats() {
         // Arrange
-        testFlight.setAvailableSeats(149);
-        testFlight.setBookedSeats(1);
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
-        when(flightRepository.save(any(Flight.class))).thenReturn(testFlight);
+        seatInventory.register(1L, 150, 1);
+        when(bookingRepository.findSummaryById(1L)).thenReturn(Optional.of(summary(testBooking)));
+        when(bookingRepository.deleteBookingById(1L)).thenReturn(1);
 
         // Act
         bookingService.cancelBooking(1L);
 
         // Assert
-        verify(flightRepository).save(argThat(flight -> 
-            flight.getAvailableSeats() == 150 && 
-            flight.getBookedSeats() == 0
-        ));
+        assertEquals(150, seatInventory.available(1L));
+    }
+
+    @Test
+    void testCancelBooking_AlreadyDeletedByConcurrentCancel() {
+        // Arrange
+        seatInventory.register(1L, 150, 1);
+        when(bookingRepository.findSummaryById(1L)).thenReturn(Optional.of(summary(testBooking)));
+        when(bookingRepository.deleteBookingById(1L)).thenReturn(0);
+
+        // Act & Assert
+        RuntimeException e = assertThrows(RuntimeException.class, () -> bookingService.cancelBooking(1L));
+
+        assertEquals("Booking not found", e.getMessage());
+        assertEquals(149, seatInventory.available(1L));
+        verify(flightRepository, never()).releaseSeat(anyLong());
+    }
+
+    @Test
+    void testCancelAllBookings_ReleasesSeatsChunkByChunk() {
+        // Arrange
+        seatInventory.register(1L, 150, 3);
+        when(bookingRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(4L, 7L, 9L));
+        when(bookingRepository.findIdsAfter(eq(9L), any())).thenReturn(List.of());
+        when(bookingRepository.lockFlightIdsBetween(0L, 9L)).thenReturn(List.of(1L, 1L, 1L));
+        when(bookingRepository.deleteBetween(0L, 9L)).thenReturn(3);
+
+        // Act
+        long cancelled = bookingService.cancelAllBookings();
+
+        // Assert
+        assertEquals(3, cancelled);
+        assertEquals(150, seatInventory.available(1L));
+        verify(flightRepository).releaseSeatsOfBookingsBetween(0L, 9L);
+        verify(bookingRepository, never()).deleteAll();
+    }
+
+    @Test
+    void testCancelAllBookings_ReloadsInventoryWhenDeleteFindsMoreRows() {
+        // Arrange
+        seatInventory.register(1L, 150, 3);
+        when(bookingRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(4L, 9L));
+        when(bookingRepository.findIdsAfter(eq(9L), any())).thenReturn(List.of());
+        when(bookingRepository.lockFlightIdsBetween(0L, 9L)).thenReturn(List.of(1L, 1L));
+        when(bookingRepository.deleteBetween(0L, 9L)).thenReturn(3);
+        FlightSeatsView emptied = new FlightSeatsView() {
+            public Long getId() { return 1L; }
+            public int getTotalSeats() { return 150; }
+            public int getBookedSeats() { return 0; }
+        };
+        when(flightRepository.findAllSeatCounts()).thenReturn(List.of(emptied));
+
+        // Act
+        long cancelled = bookingService.cancelAllBookings();
+
+        // Assert
+        assertEquals(3, cancelled);
+        assertEquals(150, seatInventory.available(1L));
+    }
+
+    @Test
+    void testCancelBookings_ReleasesSeatsOncePerFlight() {
+        // Arrange
+        seatInventory.register(1L, 150, 2);
+        Booking second = new Booking();
+        second.setId(2L);
+        second.setFlight(testFlight);
+        second.setCustomer(testCustomer);
+        second.setPrice(new BigDecimal("199.99"));
+        second.setBookingDate(LocalDateTime.now());
+        when(bookingRepository.findSummariesByIdIn(any()))
+                .thenReturn(List.of(summary(testBooking), summary(second)));
+        when(flightRepository.releaseSeats(1L, 2)).thenReturn(1);
+
+        // Act
+        BatchCancellationResponseDTO response = bookingService.cancelBookings(Arrays.asList(1L, 2L, 99L, 1L));
+
+        // Assert
+        assertEquals(4, response.getRequested());
+        assertEquals(2, response.getCancelled());
+        assertEquals(List.of(99L), response.getNotFound());
+        assertEquals(150, seatInventory.available(1L));
+        verify(bookingRepository).deleteBookingsByIdIn(Set.of(1L, 2L, 99L));
+        verify(flightRepository).releaseSeats(1L, 2);
+        verify(flightRepository, never()).releaseSeat(anyLong());
+    }
+
+    @Test
+    void testCancelBookings_ResyncsInventoryWhenFlightNotUpdated() {
+        // Arrange
+        seatInventory.register(1L, 150, 1);
+        when(bookingRepository.findSummariesByIdIn(any())).thenReturn(List.of(summary(testBooking)));
+        when(flightRepository.releaseSeats(1L, 1)).thenReturn(0);
+        when(flightRepository.findSeatCountsById(1L)).thenReturn(Optional.empty());
+
+        // Act
+        bookingService.cancelBookings(List.of(1L));
+
+        // Assert
+        assertEquals(149, seatInventory.available(1L));
+        verify(flightRepository).findSeatCountsById(1L);
     }
-} 
\ No newline at end of file
+}
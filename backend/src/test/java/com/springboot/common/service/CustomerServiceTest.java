@@ -4,21 +4,31 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.io.StringReader;
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.ArrayList;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.springboot.common.dto.CustomerDTO;
+import com.springboot.common.dto.CustomerImportResultDTO;
+import com.springboot.common.dto.PageDTO;
 import com.springboot.common.model.Customer;
 import com.springboot.common.repository.CustomerRepository;
+import com.springboot.common.util.KeysetCursor;
 
 @ExtendWith(MockitoExtension.class)
 class CustomerServiceTest {
@@ -26,7 +36,9 @@ class CustomerServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private CustomerServiceImpl customerService;
 
     private Customer testCustomer;
@@ -34,6 +46,8 @@ class CustomerServiceTest {
 
     @BeforeEach
     void setUp() {
+        customerService = new CustomerServiceImpl(customerRepository, new ObjectMapper(), transactionManager, 100, 60);
+
         testCustomer = new Customer();
         testCustomer.setId(1L);
         testCustomer.setName("John Doe");
@@ -93,33 +107,54 @@ class CustomerServiceTest {
         customer2.setEmail("jane.smith@email.com");
 
         List<Customer> customers = Arrays.asList(customer1, customer2);
-        when(customerRepository.findAll()).thenReturn(customers);
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(0L, KeysetCursor.fetchLimit(KeysetCursor.DEFAULT_PAGE_SIZE)))
+                .thenReturn(customers);
 
         // Act
-        List<CustomerDTO> result = customerService.getAllCustomers();
+        PageDTO<CustomerDTO> result = customerService.listCustomers(null, null);
 
         // Assert
         assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals("John Doe", result.get(0).getName());
-        assertEquals("jane.smith@email.com", result.get(1).getEmail());
+        assertEquals(2, result.getItems().size());
+        assertEquals("John Doe", result.getItems().get(0).getName());
+        assertEquals("jane.smith@email.com", result.getItems().get(1).getEmail());
+        assertNull(result.getNextCursor());
 
-        verify(customerRepository).findAll();
+        verify(customerRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetCustomersByIds_OneQuery() {
+        // Arrange
+        Customer other = new Customer();
+        other.setId(2L);
+        other.setName("Jane Smith");
+        other.setEmail("jane.smith@email.com");
+        when(customerRepository.findAllById(List.of(2L, 9L, 1L))).thenReturn(Arrays.asList(testCustomer, other));
+
+        // Act
+        Map<Long, CustomerDTO> result = customerService.getCustomersByIds(Arrays.asList(2L, 9L, 1L, 2L));
+
+        // Assert
+        assertEquals(List.of(2L, 1L), List.copyOf(result.keySet()));
+        assertEquals("John Doe", result.get(1L).getName());
+        verify(customerRepository, times(1)).findAllById(anyIterable());
+        verify(customerRepository, never()).findById(anyLong());
     }
 
     @Test
     void testGetAllCustomers_EmptyList() {
         // Arrange
-        when(customerRepository.findAll()).thenReturn(Arrays.asList());
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(0L, KeysetCursor.fetchLimit(KeysetCursor.DEFAULT_PAGE_SIZE)))
+                .thenReturn(Arrays.asList());
 
         // Act
-        List<CustomerDTO> result = customerService.getAllCustomers();
+        PageDTO<CustomerDTO> result = customerService.listCustomers(null, null);
 
         // Assert
         assertNotNull(result);
-        assertTrue(result.isEmpty());
-
-        verify(customerRepository).findAll();
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
     }
 
     @Test
@@ -224,7 +259,7 @@ class CustomerServiceTest {
     void testGetAllCustomers_LargeDataset() {
         // Arrange
         List<Customer> customers = new ArrayList<>();
-        for (int i = 1; i <= 100; i++) {
+        for (int i = 1; i <= KeysetCursor.MAX_PAGE_SIZE + 1; i++) {
             Customer customer = new Customer();
             customer.setId((long) i);
             customer.setName("Customer " + i);
@@ -232,16 +267,16 @@ class CustomerServiceTest {
             customers.add(customer);
         }
 
-        when(customerRepository.findAll()).thenReturn(customers);
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(0L, KeysetCursor.fetchLimit(KeysetCursor.MAX_PAGE_SIZE)))
+                .thenReturn(customers);
 
-        // Act
-        List<CustomerDTO> result = customerService.getAllCustomers();
+        // Act: asking for more than the cap gets a capped page
+        PageDTO<CustomerDTO> result = customerService.listCustomers(null, 10_000);
 
         // Assert
         assertNotNull(result);
-        assertEquals(100, result.size());
-
-        verify(customerRepository).findAll();
+        assertEquals(KeysetCursor.MAX_PAGE_SIZE, result.getItems().size());
+        assertEquals(KeysetCursor.MAX_PAGE_SIZE, KeysetCursor.decode(result.getNextCursor()));
     }
 
     @Test
@@ -284,12 +319,132 @@ class CustomerServiceTest {
     @Test
     void testGetAllCustomers_VerifyRepositoryCall() {
         // Arrange
-        when(customerRepository.findAll()).thenReturn(Arrays.asList(testCustomer));
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any()))
+                .thenReturn(Arrays.asList(testCustomer));
+
+        // Act
+        customerService.listCustomers(KeysetCursor.encode(5L), 20);
+
+        // Assert
+        verify(customerRepository, times(1)).findByIdGreaterThanOrderByIdAsc(5L, KeysetCursor.fetchLimit(20));
+        verify(customerRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetCustomerByEmail_IsCachedUntilCustomerAdded() {
+        // Arrange
+        when(customerRepository.findByEmail("john.doe@email.com"))
+                .thenReturn(Optional.empty(), Optional.of(testCustomer));
+        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
+
+        // Act
+        Optional<CustomerDTO> before = customerService.getCustomerByEmail("john.doe@email.com");
+        customerService.getCustomerByEmail(" john.doe@email.com ");
+        customerService.addCustomer(testCustomerDTO);
+        Optional<CustomerDTO> after = customerService.getCustomerByEmail("john.doe@email.com");
+
+        // Assert
+        assertTrue(before.isEmpty());
+        assertEquals(1L, after.orElseThrow().getId());
+        verify(customerRepository, times(2)).findByEmail("john.doe@email.com");
+    }
+
+    @Test
+    void testGetCustomerByEmail_AddWithOtherCaseDropsCachedMiss() {
+        // Arrange
+        when(customerRepository.findByEmail("John.Doe@email.com"))
+                .thenReturn(Optional.empty(), Optional.of(testCustomer));
+        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
+
+        // Act
+        Optional<CustomerDTO> before = customerService.getCustomerByEmail("John.Doe@email.com");
+        customerService.addCustomer(testCustomerDTO);
+        Optional<CustomerDTO> after = customerService.getCustomerByEmail("John.Doe@email.com");
+
+        // Assert
+        assertTrue(before.isEmpty());
+        assertEquals(1L, after.orElseThrow().getId());
+        verify(customerRepository, times(2)).findByEmail("John.Doe@email.com");
+    }
+
+    @Test
+    void testImportCustomers_Csv_ReportsRejects() {
+        // Arrange
+        when(customerRepository.findExistingEmails(any())).thenReturn(Set.of("taken@email.com"));
+        String csv = "email,name,phone\n"
+                + "ann@email.com,\"Lee, Ann\",555-0101\n"
+                + "taken@email.com,Taken,555-0102\n"
+                + "ann@email.com,Ann Again,555-0103\n"
+                + "not-an-email,Bad,555-0104\n"
+                + "\"unterminated,Broken\n";
+
+        // Act
+        CustomerImportResultDTO result = customerService.importCustomers(new StringReader(csv),
+                ImportFormat.CSV);
+
+        // Assert
+        assertEquals(5, result.getRows());
+        assertEquals(1, result.getImported());
+        assertEquals(4, result.getRejected());
+        assertEquals(List.of(3L, 4L, 5L, 6L), result.getRejects().stream()
+                .map(CustomerImportResultDTO.Reject::getLine)
+                .sorted()
+                .toList());
+        verify(customerRepository).saveAllAndFlush(argThat(customers -> {
+            List<Customer> list = new ArrayList<>();
+            customers.forEach(list::add);
+            return list.size() == 1 && list.get(0).getName().equals("Lee, Ann");
+        }));
+    }
+
+    @Test
+    void testImportCustomers_ReportsConstraintFailuresOtherThanDuplicates() {
+        // Arrange
+        when(customerRepository.findExistingEmails(any())).thenReturn(Set.of());
+        when(customerRepository.saveAllAndFlush(any())).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLException("Value too long for column NAME")));
+
+        // Act
+        CustomerImportResultDTO result = customerService.importCustomers(
+                new StringReader("{\"name\":\"Long Name\",\"email\":\"long@email.com\"}\n"), ImportFormat.NDJSON);
+
+        // Assert
+        assertEquals(0, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertEquals("Value too long for column NAME", result.getRejects().get(0).getReason());
+    }
+
+    @Test
+    void testAddCustomer_TrimsEmailBeforeSaving() {
+        // Arrange
+        testCustomerDTO.setEmail(" john.doe@email.com ");
+        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
+
+        // Act
+        customerService.addCustomer(testCustomerDTO);
+
+        // Assert
+        verify(customerRepository).save(argThat(customer -> customer.getEmail().equals("john.doe@email.com")));
+    }
+
+    @Test
+    void testImportCustomers_Ndjson_InsertsInBatches() {
+        // Arrange
+        when(customerRepository.findExistingEmails(any())).thenReturn(Set.of());
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < CustomerServiceImpl.IMPORT_BATCH_SIZE + 1; i++) {
+            ndjson.append("{\"name\":\"Customer ").append(i)
+                    .append("\",\"email\":\"c").append(i).append("@email.com\"}\n");
+        }
 
         // Act
-        customerService.getAllCustomers();
+        CustomerImportResultDTO result = customerService.importCustomers(new StringReader(ndjson.toString()),
+                ImportFormat.NDJSON);
 
         // Assert
-        verify(customerRepository, times(1)).findAll();
+        assertEquals(CustomerServiceImpl.IMPORT_BATCH_SIZE + 1, result.getImported());
+        assertEquals(0, result.getRejected());
+        verify(customerRepository, times(2)).saveAllAndFlush(any());
+        verify(customerRepository, never()).save(any(Customer.class));
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,146 @@
+package com.springboot.common.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.springboot.common.dto.FareDayDTO;
+import com.springboot.common.dto.FlightDTO;
+import com.springboot.common.repository.FlightListingView;
+import com.springboot.common.repository.FlightRepository;
+
+@ExtendWith(MockitoExtension.class)
+class FlightSearchIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 8, 1);
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private SeatInventory seatInventory;
+
+    private FlightSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FlightSearchIndex(flightRepository, seatInventory);
+        when(flightRepository.findAllListings()).thenReturn(List.of(
+                listing(1L, "Air A", DAY, "300.00"),
+                listing(2L, "Air B", DAY, "150.00"),
+                listing(3L, "Air A", DAY.plusDays(1), "120.00"),
+                listing(4L, "Air A", DAY.plusDays(2), "90.00"),
+                listing(5L, "Air B", DAY.plusDays(5), "50.00")));
+        lenient().when(seatInventory.available(anyLong())).thenReturn(10);
+    }
+
+    @Test
+    void testSearch_CheapestFirstWithinDateRange() {
+        List<FlightDTO> results = index.search(DAY, DAY.plusDays(2), null, null, 1, 10);
+
+        assertEquals(List.of(4L, 3L, 2L, 1L), ids(results));
+        assertEquals(10, results.get(0).getAvailableSeats());
+    }
+
+    @Test
+    void testSearch_AirlinePriceCapAndLimit() {
+        assertEquals(List.of(4L, 3L), ids(index.search(DAY, null, "air a", null, 1, 2)));
+        assertEquals(List.of(5L, 4L, 3L), ids(index.search(DAY, null, null, new BigDecimal("120.00"), 1, 10)));
+    }
+
+    @Test
+    void testSearch_SkipsFlightsWithoutEnoughSeats() {
+        when(seatInventory.available(4L)).thenReturn(1);
+
+        assertEquals(List.of(3L, 2L), ids(index.search(DAY, DAY.plusDays(2), null, null, 2, 2)));
+    }
+
+    @Test
+    void testFlightChanges_MoveTheIndex() {
+        index.load();
+
+        index.flightSaved(4L, "Air A", 100, DAY.plusDays(2), new BigDecimal("400.00"));
+        index.flightSaved(6L, "Air C", 100, DAY, new BigDecimal("10.00"));
+        index.flightDeleted(3L);
+
+        assertEquals(List.of(6L, 2L, 1L, 4L), ids(index.search(DAY, DAY.plusDays(2), null, null, 1, 10)));
+        verify(flightRepository, times(1)).findAllListings();
+    }
+
+    @Test
+    void testFareCalendar_OneEntryPerDay() {
+        List<FareDayDTO> calendar = index.fareCalendar(YearMonth.of(2025, 8), null);
+
+        assertEquals(31, calendar.size());
+        FareDayDTO first = calendar.get(0);
+        assertEquals(DAY, first.getDate());
+        assertEquals(new BigDecimal("150.00"), first.getLowestFare());
+        assertEquals(20, first.getSeatsRemaining());
+        assertEquals(2, first.getFlights());
+        assertEquals(new BigDecimal("90.00"), calendar.get(2).getLowestFare());
+        assertNull(calendar.get(3).getLowestFare());
+        assertEquals(0, calendar.get(3).getFlights());
+    }
+
+    @Test
+    void testFareCalendar_AirlineFilter() {
+        FareDayDTO first = index.fareCalendar(YearMonth.of(2025, 8), "AIR A").get(0);
+
+        assertEquals(new BigDecimal("300.00"), first.getLowestFare());
+        assertEquals(10, first.getSeatsRemaining());
+        assertEquals(1, first.getFlights());
+    }
+
+    @Test
+    void testFareCalendar_RecomputedOnlyAfterSeatChange() {
+        ArgumentCaptor<LongConsumer> listener = ArgumentCaptor.forClass(LongConsumer.class);
+        verify(seatInventory).addChangeListener(listener.capture());
+        index.fareCalendar(YearMonth.of(2025, 8), null);
+        when(seatInventory.available(2L)).thenReturn(0);
+
+        assertEquals(new BigDecimal("150.00"), index.fareCalendar(YearMonth.of(2025, 8), null).get(0).getLowestFare());
+
+        listener.getValue().accept(2L);
+        FareDayDTO first = index.fareCalendar(YearMonth.of(2025, 8), null).get(0);
+        assertEquals(new BigDecimal("300.00"), first.getLowestFare());
+        assertEquals(10, first.getSeatsRemaining());
+        assertEquals(2, first.getFlights());
+    }
+
+    @Test
+    void testFareCalendar_FollowsFlightChanges() {
+        index.load();
+
+        index.flightSaved(2L, "Air B", 100, DAY, new BigDecimal("500.00"));
+
+        assertEquals(new BigDecimal("300.00"), index.fareCalendar(YearMonth.of(2025, 8), null).get(0).getLowestFare());
+    }
+
+    private static List<Long> ids(List<FlightDTO> flights) {
+        return flights.stream().map(FlightDTO::getId).collect(Collectors.toList());
+    }
+
+    private static FlightListingView listing(long id, String airline, LocalDate date, String price) {
+        return new FlightListingView() {
+            public Long getId() { return id; }
+            public String getAirlineName() { return airline; }
+            public int getTotalSeats() { return 100; }
+            public LocalDate getFlightDate() { return date; }
+            public BigDecimal getPrice() { return new BigDecimal(price); }
+        };
+    }
+}
@@ -4,22 +4,31 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.io.StringReader;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.springboot.common.dto.FlightDTO;
+import com.springboot.common.dto.FlightImportResultDTO;
+import com.springboot.common.dto.PageDTO;
 import com.springboot.common.model.Flight;
 import com.springboot.common.repository.FlightRepository;
+import com.springboot.common.util.IdBatches;
+import com.springboot.common.util.KeysetCursor;
 
 @ExtendWith(MockitoExtension.class)
 class FlightServiceTest {
@@ -27,7 +36,21 @@ class FlightServiceTest {
     @Mock
     private FlightRepository flightRepository;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private SeatInventory seatInventory;
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @Mock
+    private BookingRollupStore bookingRollupStore;
+
+    @Mock
+    private FlightSearchIndex flightSearchIndex;
+
     private FlightServiceImpl flightService;
 
     private Flight testFlight;
@@ -35,6 +58,9 @@ class FlightServiceTest {
 
     @BeforeEach
     void setUp() {
+        flightService = new FlightServiceImpl(flightRepository, seatInventory, seatHoldService, bookingRollupStore, flightSearchIndex,
+                new ObjectMapper().findAndRegisterModules(), transactionManager, 64, 300);
+
         testFlight = new Flight();
         testFlight.setId(1L);
         testFlight.setAirlineName("Test Airlines");
@@ -90,18 +116,37 @@ class FlightServiceTest {
         flight2.setPrice(new BigDecimal("299.99"));
 
         List<Flight> flights = Arrays.asList(flight1, flight2);
-        when(flightRepository.findAll()).thenReturn(flights);
+        when(flightRepository.findByIdGreaterThanOrderByIdAsc(0L, KeysetCursor.fetchLimit(KeysetCursor.DEFAULT_PAGE_SIZE)))
+            .thenReturn(flights);
 
         // Act
-        List<FlightDTO> result = flightService.listAll();
+        PageDTO<FlightDTO> result = flightService.listFlights(null, null);
 
         // Assert
         assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals("Airline 1", result.get(0).getAirlineName());
-        assertEquals("Airline 2", result.get(1).getAirlineName());
+        assertEquals(2, result.getItems().size());
+        assertEquals("Airline 1", result.getItems().get(0).getAirlineName());
+        assertEquals("Airline 2", result.getItems().get(1).getAirlineName());
+        assertNull(result.getNextCursor());
+
+        verify(flightRepository, never()).findAll();
+    }
+
+    @Test
+    void testListFlights_FullPageHasNextCursor() {
+        // Arrange
+        Flight flight2 = new Flight("Airline 2", 200, LocalDate.of(2025, 8, 16), new BigDecimal("299.99"));
+        flight2.setId(2L);
+        when(flightRepository.findByIdGreaterThanOrderByIdAsc(0L, KeysetCursor.fetchLimit(1)))
+            .thenReturn(Arrays.asList(testFlight, flight2));
+
+        // Act
+        PageDTO<FlightDTO> result = flightService.listFlights(null, 1);
 
-        verify(flightRepository).findAll();
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertEquals(testFlight.getId(), result.getItems().get(0).getId());
+        assertEquals(testFlight.getId(), KeysetCursor.decode(result.getNextCursor()));
     }
 
     @Test
@@ -141,11 +186,84 @@ class FlightServiceTest {
         verify(flightRepository).findByFlightDateGreaterThanEqual(fromDate);
     }
 
+    @Test
+    void testGetFlightsByDate_CachedWithLiveSeats() {
+        // Arrange
+        LocalDate targetDate = LocalDate.of(2025, 8, 15);
+        when(flightRepository.findByFlightDate(targetDate)).thenReturn(Arrays.asList(testFlight));
+        when(seatInventory.available(1L)).thenReturn(150, 120);
+
+        // Act
+        List<FlightDTO> first = flightService.getFlightsByDate(targetDate);
+        List<FlightDTO> second = flightService.getFlightsByDate(targetDate);
+
+        // Assert
+        assertEquals(150, first.get(0).getAvailableSeats());
+        assertEquals(120, second.get(0).getAvailableSeats());
+        verify(flightRepository, times(1)).findByFlightDate(targetDate);
+    }
+
+    @Test
+    void testAddFlight_EvictsAffectedSearchesOnly() {
+        // Arrange
+        LocalDate otherDate = LocalDate.of(2025, 8, 20);
+        when(flightRepository.findByFlightDate(any(LocalDate.class))).thenReturn(Arrays.asList(testFlight));
+        when(flightRepository.findByFlightDateGreaterThanEqual(any(LocalDate.class))).thenReturn(Arrays.asList(testFlight));
+        when(flightRepository.save(any(Flight.class))).thenReturn(testFlight);
+        flightService.getFlightsByDate(testFlight.getFlightDate());
+        flightService.getFlightsByDate(otherDate);
+        flightService.getFutureFlights(LocalDate.of(2025, 8, 1));
+        flightService.getFutureFlights(LocalDate.of(2025, 8, 16));
+
+        // Act: testFlight flies on 2025-08-15
+        flightService.addFlight(testFlightDTO);
+        flightService.getFlightsByDate(testFlight.getFlightDate());
+        flightService.getFlightsByDate(otherDate);
+        flightService.getFutureFlights(LocalDate.of(2025, 8, 1));
+        flightService.getFutureFlights(LocalDate.of(2025, 8, 16));
+
+        // Assert
+        verify(flightRepository, times(2)).findByFlightDate(testFlight.getFlightDate());
+        verify(flightRepository, times(1)).findByFlightDate(otherDate);
+        verify(flightRepository, times(2)).findByFlightDateGreaterThanEqual(LocalDate.of(2025, 8, 1));
+        verify(flightRepository, times(1)).findByFlightDateGreaterThanEqual(LocalDate.of(2025, 8, 16));
+    }
+
+    @Test
+    void testDeleteFlight_DropsFlightFromCachedSearch() {
+        // Arrange
+        LocalDate targetDate = testFlight.getFlightDate();
+        when(flightRepository.findByFlightDate(targetDate)).thenReturn(Arrays.asList(testFlight), Arrays.asList());
+        when(flightRepository.findFlightDateById(1L)).thenReturn(Optional.of(targetDate));
+        assertEquals(1, flightService.getFlightsByDate(targetDate).size());
+
+        // Act
+        flightService.deleteFlight(1L);
+
+        // Assert
+        assertTrue(flightService.getFlightsByDate(targetDate).isEmpty());
+    }
+
+    @Test
+    void testSearchFlights_AppliesDefaultsAndCap() {
+        // Arrange
+        when(flightSearchIndex.search(any(LocalDate.class), isNull(), isNull(), isNull(), eq(1), eq(FlightSearchIndex.MAX_RESULTS)))
+            .thenReturn(Arrays.asList(testFlightDTO));
+
+        // Act
+        List<FlightDTO> result = flightService.searchFlights(null, null, null, null, null, 10_000);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(flightSearchIndex).search(LocalDate.now(), null, null, null, 1, FlightSearchIndex.MAX_RESULTS);
+        verifyNoInteractions(flightRepository);
+    }
+
     @Test
     void testUpdateFlight_Success() {
         // Arrange
         Long flightId = 1L;
-        when(flightRepository.findById(flightId)).thenReturn(Optional.of(testFlight));
+        when(flightRepository.findForUpdateById(flightId)).thenReturn(Optional.of(testFlight));
         when(flightRepository.save(any(Flight.class))).thenReturn(testFlight);
 
         FlightDTO updateDTO = new FlightDTO();
@@ -161,22 +279,37 @@ class FlightServiceTest {
         assertNotNull(result);
         assertEquals(testFlight.getId(), result.getId());
 
-        verify(flightRepository).findById(flightId);
+        verify(flightRepository).findForUpdateById(flightId);
         verify(flightRepository).save(any(Flight.class));
+        verify(bookingRollupStore).load();
+    }
+
+    @Test
+    void testUpdateFlight_RejectsFewerSeatsThanBooked() {
+        // Arrange
+        testFlight.setBookedSeats(120);
+        when(flightRepository.findForUpdateById(1L)).thenReturn(Optional.of(testFlight));
+        testFlightDTO.setTotalSeats(100);
+
+        // Act & Assert
+        RuntimeException e = assertThrows(RuntimeException.class, () -> flightService.updateFlight(1L, testFlightDTO));
+        assertEquals(FlightServiceImpl.SEATS_BELOW_BOOKED, e.getMessage());
+        verify(flightRepository, never()).save(any(Flight.class));
+        verify(seatInventory, never()).updateCapacity(anyLong(), anyInt());
     }
 
     @Test
     void testUpdateFlight_FlightNotFound() {
         // Arrange
         Long flightId = 999L;
-        when(flightRepository.findById(flightId)).thenReturn(Optional.empty());
+        when(flightRepository.findForUpdateById(flightId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> {
             flightService.updateFlight(flightId, testFlightDTO);
         });
 
-        verify(flightRepository).findById(flightId);
+        verify(flightRepository).findForUpdateById(flightId);
         verify(flightRepository, never()).save(any(Flight.class));
     }
 
@@ -184,28 +317,30 @@ class FlightServiceTest {
     void testDeleteFlight_Success() {
         // Arrange
         Long flightId = 1L;
-        when(flightRepository.existsById(flightId)).thenReturn(true);
+        when(flightRepository.findFlightDateById(flightId)).thenReturn(Optional.of(testFlight.getFlightDate()));
 
         // Act
         flightService.deleteFlight(flightId);
 
         // Assert
-        verify(flightRepository).existsById(flightId);
+        verify(flightRepository).findFlightDateById(flightId);
         verify(flightRepository).deleteById(flightId);
+        verify(seatInventory).remove(flightId);
+        verify(flightSearchIndex).flightDeleted(flightId);
     }
 
     @Test
     void testDeleteFlight_FlightNotFound() {
         // Arrange
         Long flightId = 999L;
-        when(flightRepository.existsById(flightId)).thenReturn(false);
+        when(flightRepository.findFlightDateById(flightId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> {
             flightService.deleteFlight(flightId);
         });
 
-        verify(flightRepository).existsById(flightId);
+        verify(flightRepository).findFlightDateById(flightId);
         verify(flightRepository, never()).deleteById(anyLong());
     }
 
@@ -213,42 +348,90 @@ class FlightServiceTest {
     void testCheckAvailability_Success() {
         // Arrange
         Long flightId = 1L;
-        when(flightRepository.findById(flightId)).thenReturn(Optional.of(testFlight));
+        when(seatInventory.available(flightId)).thenReturn(146);
 
         // Act
         int result = flightService.checkAvailability(flightId);
 
         // Assert
-        assertEquals(testFlight.getAvailableSeats(), result);
-        verify(flightRepository).findById(flightId);
+        assertEquals(146, result);
+        verifyNoInteractions(flightRepository, seatHoldService);
+    }
+
+    @Test
+    void testCheckAvailability_Bulk() {
+        // Arrange
+        when(seatInventory.available(1L)).thenReturn(10);
+        when(seatInventory.available(2L)).thenReturn(SeatInventory.UNKNOWN_FLIGHT);
+        when(seatInventory.available(3L)).thenReturn(0);
+
+        // Act
+        Map<Long, Integer> result = flightService.checkAvailability(Arrays.asList(3L, 1L, 2L, 1L));
+
+        // Assert
+        assertEquals(List.of(3L, 1L), List.copyOf(result.keySet()));
+        assertEquals(10, result.get(1L));
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void testGetFlightsByIds_ChunkedInQueries() {
+        // Arrange
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= IdBatches.CHUNK_SIZE + 1; id++) {
+            ids.add(id);
+        }
+        when(flightRepository.findAllById(anyIterable())).thenReturn(Arrays.asList(), Arrays.asList(testFlight));
+
+        // Act
+        Map<Long, FlightDTO> result = flightService.getFlightsByIds(ids);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("Test Airlines", result.get(1L).getAirlineName());
+        verify(flightRepository, times(2)).findAllById(anyIterable());
+        verify(flightRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testGetFlightsByIds_TooMany() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= IdBatches.MAX_IDS + 1; id++) {
+            ids.add(id);
+        }
+
+        assertThrows(RuntimeException.class, () -> flightService.getFlightsByIds(ids));
+
+        verifyNoInteractions(flightRepository);
     }
 
     @Test
     void testCheckAvailability_FlightNotFound() {
         // Arrange
         Long flightId = 999L;
-        when(flightRepository.findById(flightId)).thenReturn(Optional.empty());
+        when(seatInventory.available(flightId)).thenReturn(SeatInventory.UNKNOWN_FLIGHT);
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> {
             flightService.checkAvailability(flightId);
         });
 
-        verify(flightRepository).findById(flightId);
+        verify(flightRepository, never()).findById(anyLong());
     }
 
     @Test
     void testListAll_EmptyList() {
         // Arrange
-        when(flightRepository.findAll()).thenReturn(Arrays.asList());
+        when(flightRepository.findByIdGreaterThanOrderByIdAsc(0L, KeysetCursor.fetchLimit(KeysetCursor.DEFAULT_PAGE_SIZE)))
+            .thenReturn(Arrays.asList());
 
         // Act
-        List<FlightDTO> result = flightService.listAll();
+        PageDTO<FlightDTO> result = flightService.listFlights(null, null);
 
         // Assert
         assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(flightRepository).findAll();
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
     }
 
     @Test
@@ -280,4 +463,72 @@ class FlightServiceTest {
         assertTrue(result.isEmpty());
         verify(flightRepository).findByFlightDateGreaterThanEqual(fromDate);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testImportFlights_UpsertsByScheduleKey() {
+        // Arrange
+        testFlight.setFlightNumber("TA 100");
+        Flight nearlyFull = new Flight("Test Airlines", 50, LocalDate.of(2025, 8, 16), new BigDecimal("99.00"));
+        nearlyFull.setId(5L);
+        nearlyFull.setFlightNumber("TA 500");
+        nearlyFull.setBookedSeats(20);
+        when(flightRepository.findScheduled(any(), any(), any(), any())).thenReturn(List.of(testFlight, nearlyFull));
+        when(flightRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Flight> flights = invocation.getArgument(0);
+            flights.forEach(f -> f.setId(101L));
+            return flights;
+        });
+        String csv = "airlineName,flightNumber,flightDate,totalSeats,price\n"
+                + "Test Airlines,TA 100,2025-08-15,120,199.00\n"
+                + "Test Airlines,TA 200,2025-08-15,180,249.00\n"
+                + "Test Airlines,TA 200,2025-08-15,180,249.00\n"
+                + "Test Airlines,TA 300,2025-08-16,0,99.00\n"
+                + "Test Airlines,TA 400,not-a-date,100,99.00\n"
+                + "Test Airlines,TA 500,2025-08-16,10,99.00\n";
+
+        // Act
+        FlightImportResultDTO result = flightService.importFlights(new StringReader(csv), ImportFormat.CSV);
+
+        // Assert
+        assertEquals(6, result.getRows());
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getUpdated());
+        assertEquals(4, result.getRejected());
+        assertEquals(120, testFlight.getTotalSeats());
+        assertEquals(50, nearlyFull.getTotalSeats());
+        verify(seatInventory).registerAll(argThat(flights -> flights.size() == 1
+                && flights.iterator().next().getId() == 101L && flights.iterator().next().getTotalSeats() == 180));
+        verify(seatInventory).updateCapacity(1L, 120);
+        verify(flightRepository, times(1)).findScheduled(any(), any(), any(), any());
+        verify(flightRepository, never()).save(any(Flight.class));
+    }
+
+    @Test
+    void testImportFlights_RepeatInLaterBatchIsUpsertedAndUnchangedIsNotCounted() {
+        // Arrange
+        testFlight.setFlightNumber("TA 0");
+        when(flightRepository.findScheduled(any(), any(), any(), any())).thenReturn(List.of(testFlight));
+        when(flightRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Flight> flights = invocation.getArgument(0);
+            flights.forEach(f -> f.setId(101L));
+            return flights;
+        });
+        StringBuilder csv = new StringBuilder("airlineName,flightNumber,flightDate,totalSeats,price\n");
+        for (int i = 0; i < FlightServiceImpl.IMPORT_BATCH_SIZE; i++) {
+            csv.append("Test Airlines,TA ").append(i).append(",2025-08-15,150,299.99\n");
+        }
+        csv.append("Test Airlines,TA 0,2025-08-15,150,299.99\n");
+
+        // Act
+        FlightImportResultDTO result = flightService.importFlights(new StringReader(csv.toString()), ImportFormat.CSV);
+
+        // Assert
+        assertEquals(FlightServiceImpl.IMPORT_BATCH_SIZE + 1, result.getRows());
+        assertEquals(FlightServiceImpl.IMPORT_BATCH_SIZE - 1, result.getInserted());
+        assertEquals(0, result.getUpdated());
+        assertEquals(2, result.getUnchanged());
+        assertEquals(0, result.getRejected());
+        verify(flightRepository, times(2)).findScheduled(any(), any(), any(), any());
+        verify(seatInventory, never()).updateCapacity(anyLong(), anyInt());
+    }
+}
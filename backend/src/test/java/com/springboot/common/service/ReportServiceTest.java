@@ -10,20 +10,29 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.springboot.common.dto.ReportDTO;
 import com.springboot.common.model.Booking;
 import com.springboot.common.model.Customer;
 import com.springboot.common.model.Flight;
+import com.springboot.common.repository.AirlineCapacityView;
+import com.springboot.common.repository.AirlineRevenueView;
 import com.springboot.common.repository.BookingRepository;
+import com.springboot.common.repository.BookingTotalsView;
 import com.springboot.common.repository.CustomerRepository;
+import com.springboot.common.repository.FlightCapacityView;
 import com.springboot.common.repository.FlightRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,7 +47,12 @@ class ReportServiceTest {
     @Mock
     private FlightRepository flightRepository;
 
-    @InjectMocks
+    @Mock
+    private BookingRollupStore bookingRollupStore;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private ReportServiceImpl reportService;
 
     private Booking testBooking;
@@ -47,6 +61,9 @@ class ReportServiceTest {
 
     @BeforeEach
     void setUp() {
+        reportService = new ReportServiceImpl(bookingRepository, customerRepository, flightRepository,
+                bookingRollupStore, transactionManager, 60, 2000, 4, 8);
+
         // Setup test customer
         testCustomer = new Customer();
         testCustomer.setId(1L);
@@ -79,9 +96,8 @@ class ReportServiceTest {
         LocalDateTime start = LocalDateTime.now().minusDays(7);
         LocalDateTime end = LocalDateTime.now().plusDays(7);
         
-        List<Booking> bookings = Arrays.asList(testBooking);
-        when(bookingRepository.findByFlightAirlineNameAndBookingDateBetween(airlineName, start, end))
-            .thenReturn(bookings);
+        when(bookingRepository.summarizeAirlineRevenue(airlineName, start, end))
+            .thenReturn(Arrays.asList(revenue(airlineName, 1, 1, "299.99")));
 
         // Act
         List<ReportDTO> result = reportService.revenueByAirline(airlineName, start, end);
@@ -93,7 +109,7 @@ class ReportServiceTest {
         assertEquals(1, result.get(0).getTicketsSold());
         assertEquals(new BigDecimal("299.99"), result.get(0).getTotalRevenue());
 
-        verify(bookingRepository).findByFlightAirlineNameAndBookingDateBetween(airlineName, start, end);
+        verify(bookingRepository).summarizeAirlineRevenue(airlineName, start, end);
     }
 
     @Test
@@ -103,7 +119,7 @@ class ReportServiceTest {
         LocalDateTime start = LocalDateTime.now().minusDays(7);
         LocalDateTime end = LocalDateTime.now().plusDays(7);
         
-        when(bookingRepository.findByFlightAirlineNameAndBookingDateBetween(airlineName, start, end))
+        when(bookingRepository.summarizeAirlineRevenue(airlineName, start, end))
             .thenReturn(Arrays.asList());
 
         // Act
@@ -113,22 +129,20 @@ class ReportServiceTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
 
-        verify(bookingRepository).findByFlightAirlineNameAndBookingDateBetween(airlineName, start, end);
+        verify(bookingRepository).summarizeAirlineRevenue(airlineName, start, end);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportService.shutdown();
     }
 
     @Test
     void testGetDashboardStats_Success() {
         // Arrange
-        List<Flight> futureFlights = Arrays.asList(testFlight);
-        List<Flight> allFlights = Arrays.asList(testFlight);
-        List<Booking> bookings = Arrays.asList(testBooking);
-        List<Customer> customers = Arrays.asList(testCustomer);
-
-        when(flightRepository.findByFlightDateGreaterThanEqual(any(LocalDate.class)))
-            .thenReturn(futureFlights);
-        when(flightRepository.findAll()).thenReturn(allFlights);
-        when(bookingRepository.findAll()).thenReturn(bookings);
-        when(customerRepository.findAll()).thenReturn(customers);
+        when(flightRepository.summarizeCapacityFrom(any(LocalDate.class))).thenReturn(capacity(1, 150, 1));
+        when(bookingRepository.summarizeAll()).thenReturn(totals(1, "299.99"));
+        when(customerRepository.count()).thenReturn(1L);
 
         // Act
         Map<String, Object> result = reportService.getDashboardStats();
@@ -143,20 +157,18 @@ class ReportServiceTest {
         assertEquals(150, result.get("totalSeats"));
         assertNotNull(result.get("occupancyRate"));
 
-        verify(flightRepository).findByFlightDateGreaterThanEqual(any(LocalDate.class));
-        verify(flightRepository).findAll();
-        verify(bookingRepository).findAll();
-        verify(customerRepository).findAll();
+        verify(flightRepository).summarizeCapacityFrom(any(LocalDate.class));
+        verify(flightRepository, never()).findAll();
+        verify(bookingRepository, never()).findAll();
+        verify(customerRepository, never()).findAll();
     }
 
     @Test
     void testGetDashboardStats_EmptyData() {
         // Arrange
-        when(flightRepository.findByFlightDateGreaterThanEqual(any(LocalDate.class)))
-            .thenReturn(Arrays.asList());
-        when(flightRepository.findAll()).thenReturn(Arrays.asList());
-        when(bookingRepository.findAll()).thenReturn(Arrays.asList());
-        when(customerRepository.findAll()).thenReturn(Arrays.asList());
+        when(flightRepository.summarizeCapacityFrom(any(LocalDate.class))).thenReturn(capacity(0, 0, 0));
+        when(bookingRepository.summarizeAll()).thenReturn(totals(0, "0"));
+        when(customerRepository.count()).thenReturn(0L);
 
         // Act
         Map<String, Object> result = reportService.getDashboardStats();
@@ -172,22 +184,93 @@ class ReportServiceTest {
         assertEquals(0.0, result.get("occupancyRate"));
     }
 
+    @Test
+    void testGetDashboardStats_ServedFromCache() {
+        // Arrange
+        when(flightRepository.summarizeCapacityFrom(any(LocalDate.class))).thenReturn(capacity(1, 150, 1));
+        when(bookingRepository.summarizeAll()).thenReturn(totals(1, "299.99"));
+        when(customerRepository.count()).thenReturn(1L);
+
+        // Act
+        reportService.getDashboardStats();
+        Map<String, Object> result = reportService.getDashboardStats();
+
+        // Assert
+        assertEquals(7, result.size());
+        verify(flightRepository, times(1)).summarizeCapacityFrom(any(LocalDate.class));
+        verify(bookingRepository, times(1)).summarizeAll();
+        verify(customerRepository, times(1)).count();
+    }
+
+    @Test
+    void testGetDashboardStats_IncludeFilter() {
+        // Arrange
+        when(bookingRepository.summarizeAll()).thenReturn(totals(1, "299.99"));
+
+        // Act
+        Map<String, Object> result = reportService.getDashboardStats(Set.of("totalRevenue"));
+
+        // Assert
+        assertEquals(Map.of("totalRevenue", new BigDecimal("299.99")), result);
+        verify(flightRepository, never()).summarizeCapacityFrom(any(LocalDate.class));
+        verify(customerRepository, never()).count();
+    }
+
+    @Test
+    void testGetDashboardStats_SlowQueryReturnsPartialResult() throws Exception {
+        // Arrange
+        reportService = new ReportServiceImpl(bookingRepository, customerRepository, flightRepository,
+                bookingRollupStore, transactionManager, 60, 50, 4, 8);
+        CountDownLatch release = new CountDownLatch(1);
+        when(flightRepository.summarizeCapacityFrom(any(LocalDate.class))).thenAnswer(invocation -> {
+            release.await();
+            return capacity(1, 150, 1);
+        });
+        when(bookingRepository.summarizeAll()).thenReturn(totals(1, "299.99"));
+        when(customerRepository.count()).thenReturn(1L);
+
+        // Act
+        Map<String, Object> result = reportService.getDashboardStats();
+        release.countDown();
+
+        // Assert
+        assertEquals(true, result.get("partial"));
+        assertEquals(List.of("availableSeats", "occupancyRate", "totalFlights", "totalSeats"), result.get("unavailable"));
+        assertEquals(1, result.get("totalBookings"));
+        assertEquals(1, result.get("totalCustomers"));
+        assertNull(result.get("totalFlights"));
+    }
+
+    @Test
+    void testGetDashboardStats_UnknownStat() {
+        assertThrows(RuntimeException.class, () -> reportService.getDashboardStats(Set.of("nonsense")));
+
+        verifyNoInteractions(flightRepository, bookingRepository, customerRepository);
+    }
+
     @Test
     void testGetBookingTrends_Success() {
         // Arrange
         LocalDate startDate = LocalDate.now().minusDays(7);
         LocalDate endDate = LocalDate.now().plusDays(7);
         
-        List<Booking> bookings = Arrays.asList(testBooking);
-        when(bookingRepository.findAll()).thenReturn(bookings);
+        NavigableMap<LocalDate, BookingRollupStore.Totals> days = new TreeMap<>();
+        days.put(LocalDate.now().minusDays(1), new BookingRollupStore.Totals(2, new BigDecimal("599.98")));
+        days.put(LocalDate.now(), new BookingRollupStore.Totals(1, new BigDecimal("299.99")));
+        when(bookingRollupStore.dailyTotals(startDate, endDate)).thenReturn(days);
 
         // Act
         List<ReportDTO> result = reportService.getBookingTrends(startDate, endDate);
 
         // Assert
         assertNotNull(result);
-        // The result should contain booking trends grouped by date
-        verify(bookingRepository).findAll();
+        assertEquals(2, result.size());
+        assertEquals(2, result.get(0).getTicketsSold());
+        assertEquals(new BigDecimal("599.98"), result.get(0).getTotalRevenue());
+        assertEquals(1, result.get(1).getTicketsSold());
+
+        verify(bookingRollupStore).dailyTotals(startDate, endDate);
+        verify(bookingRepository, never()).findAll();
     }
 
     @Test
@@ -196,7 +279,7 @@ class ReportServiceTest {
         LocalDate startDate = LocalDate.now().minusDays(7);
         LocalDate endDate = LocalDate.now().plusDays(7);
         
-        when(bookingRepository.findAll()).thenReturn(Arrays.asList());
+        when(bookingRollupStore.dailyTotals(startDate, endDate)).thenReturn(new TreeMap<>());
 
         // Act
         List<ReportDTO> result = reportService.getBookingTrends(startDate, endDate);
@@ -205,15 +288,16 @@ class ReportServiceTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
 
-        verify(bookingRepository).findAll();
+        verify(bookingRollupStore).dailyTotals(startDate, endDate);
     }
 
     @Test
     void testGetAirlinePerformance_Success() {
         // Arrange
-        List<Flight> futureFlights = Arrays.asList(testFlight);
-        when(flightRepository.findByFlightDateGreaterThanEqual(any(LocalDate.class)))
-            .thenReturn(futureFlights);
+        when(flightRepository.summarizeCapacityByAirlineFrom(any(LocalDate.class)))
+            .thenReturn(Arrays.asList(capacity("Test Airlines", 2, 300, 3, "599.98")));
+        when(bookingRepository.summarizeRevenueByAirlineForFlightsFrom(any(LocalDate.class)))
+            .thenReturn(Arrays.asList(revenue("Test Airlines", 2, 3, "749.97")));
 
         // Act
         List<ReportDTO> result = reportService.getAirlinePerformance();
@@ -222,15 +306,37 @@ class ReportServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Test Airlines", result.get(0).getAirlineName());
-        assertEquals(1, result.get(0).getTicketsSold()); // bookedSeats
+        assertEquals(3, result.get(0).getTicketsSold()); // bookedSeats
+        assertEquals(new BigDecimal("749.97"), result.get(0).getTotalRevenue()); // summed from bookings
+        assertEquals(new BigDecimal("299.99"), result.get(0).getAveragePrice());
+
+        verify(flightRepository).summarizeCapacityByAirlineFrom(any(LocalDate.class));
+        verify(flightRepository, never()).findByFlightDateGreaterThanEqual(any(LocalDate.class));
+    }
+
+    @Test
+    void testGetAirlinePerformance_NoBookings() {
+        // Arrange
+        when(flightRepository.summarizeCapacityByAirlineFrom(any(LocalDate.class)))
+            .thenReturn(Arrays.asList(capacity("Test Airlines", 1, 150, 0, "299.99")));
+        when(bookingRepository.summarizeRevenueByAirlineForFlightsFrom(any(LocalDate.class)))
+            .thenReturn(Arrays.asList());
 
-        verify(flightRepository).findByFlightDateGreaterThanEqual(any(LocalDate.class));
+        // Act
+        List<ReportDTO> result = reportService.getAirlinePerformance();
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(0, result.get(0).getTicketsSold());
+        assertEquals(BigDecimal.ZERO, result.get(0).getTotalRevenue());
     }
 
     @Test
     void testGetAirlinePerformance_EmptyData() {
         // Arrange
-        when(flightRepository.findByFlightDateGreaterThanEqual(any(LocalDate.class)))
+        when(flightRepository.summarizeCapacityByAirlineFrom(any(LocalDate.class)))
+            .thenReturn(Arrays.asList());
+        when(bookingRepository.summarizeRevenueByAirlineForFlightsFrom(any(LocalDate.class)))
             .thenReturn(Arrays.asList());
 
         // Act
@@ -240,7 +346,7 @@ class ReportServiceTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
 
-        verify(flightRepository).findByFlightDateGreaterThanEqual(any(LocalDate.class));
+        verify(flightRepository).summarizeCapacityByAirlineFrom(any(LocalDate.class));
     }
 
     @Test
@@ -249,8 +355,8 @@ class ReportServiceTest {
         LocalDate startDate = LocalDate.now().minusDays(7);
         LocalDate endDate = LocalDate.now().plusDays(7);
         
-        List<Booking> bookings = Arrays.asList(testBooking);
-        when(bookingRepository.findAll()).thenReturn(bookings);
+        when(bookingRollupStore.totalsByAirline(startDate, endDate))
+            .thenReturn(Map.of("Test Airlines", new BookingRollupStore.Totals(1, new BigDecimal("299.99"))));
 
         // Act
         Map<String, Object> result = reportService.getRevenueAnalysis(startDate, endDate);
@@ -260,9 +366,10 @@ class ReportServiceTest {
         assertEquals(new BigDecimal("299.99"), result.get("totalRevenue"));
         assertEquals(1, result.get("totalBookings"));
         assertEquals(new BigDecimal("299.99"), result.get("averageBookingValue"));
-        assertNotNull(result.get("revenueByAirline"));
+        assertEquals(Map.of("Test Airlines", new BigDecimal("299.99")), result.get("revenueByAirline"));
 
-        verify(bookingRepository).findAll();
+        verify(bookingRollupStore).totalsByAirline(startDate, endDate);
+        verify(bookingRepository, never()).findAll();
     }
 
     @Test
@@ -271,7 +378,7 @@ class ReportServiceTest {
         LocalDate startDate = LocalDate.now().minusDays(7);
         LocalDate endDate = LocalDate.now().plusDays(7);
         
-        when(bookingRepository.findAll()).thenReturn(Arrays.asList());
+        when(bookingRollupStore.totalsByAirline(startDate, endDate)).thenReturn(Map.of());
 
         // Act
         Map<String, Object> result = reportService.getRevenueAnalysis(startDate, endDate);
@@ -283,40 +390,15 @@ class ReportServiceTest {
         assertEquals(BigDecimal.ZERO, result.get("averageBookingValue"));
         assertNotNull(result.get("revenueByAirline"));
 
-        verify(bookingRepository).findAll();
+        verify(bookingRollupStore).totalsByAirline(startDate, endDate);
     }
 
     @Test
     void testGetDashboardStats_MultipleFlights() {
-        // Arrange
-        Flight flight1 = new Flight();
-        flight1.setId(1L);
-        flight1.setAirlineName("Airline 1");
-        flight1.setTotalSeats(100);
-        flight1.setAvailableSeats(80);
-        flight1.setBookedSeats(20);
-        flight1.setFlightDate(LocalDate.of(2025, 8, 15));
-        flight1.setPrice(new BigDecimal("199.99"));
-
-        Flight flight2 = new Flight();
-        flight2.setId(2L);
-        flight2.setAirlineName("Airline 2");
-        flight2.setTotalSeats(200);
-        flight2.setAvailableSeats(150);
-        flight2.setBookedSeats(50);
-        flight2.setFlightDate(LocalDate.of(2025, 8, 16));
-        flight2.setPrice(new BigDecimal("299.99"));
-
-        List<Flight> futureFlights = Arrays.asList(flight1, flight2);
-        List<Flight> allFlights = Arrays.asList(flight1, flight2);
-        List<Booking> bookings = Arrays.asList(testBooking);
-        List<Customer> customers = Arrays.asList(testCustomer);
-
-        when(flightRepository.findByFlightDateGreaterThanEqual(any(LocalDate.class)))
-            .thenReturn(futureFlights);
-        when(flightRepository.findAll()).thenReturn(allFlights);
-        when(bookingRepository.findAll()).thenReturn(bookings);
-        when(customerRepository.findAll()).thenReturn(customers);
+        // Arrange: 100 + 200 seats with 20 + 50 booked
+        when(flightRepository.summarizeCapacityFrom(any(LocalDate.class))).thenReturn(capacity(2, 300, 70));
+        when(bookingRepository.summarizeAll()).thenReturn(totals(1, "299.99"));
+        when(customerRepository.count()).thenReturn(1L);
 
         // Act
         Map<String, Object> result = reportService.getDashboardStats();
@@ -339,21 +421,9 @@ class ReportServiceTest {
         LocalDateTime start = LocalDateTime.now().minusDays(7);
         LocalDateTime end = LocalDateTime.now().plusDays(7);
         
-        Booking booking1 = new Booking();
-        booking1.setId(1L);
-        booking1.setCustomer(testCustomer);
-        booking1.setFlight(testFlight);
-        booking1.setPrice(new BigDecimal("299.99"));
-
-        Booking booking2 = new Booking();
-        booking2.setId(2L);
-        booking2.setCustomer(testCustomer);
-        booking2.setFlight(testFlight);
-        booking2.setPrice(new BigDecimal("399.99"));
-
-        List<Booking> bookings = Arrays.asList(booking1, booking2);
-        when(bookingRepository.findByFlightAirlineNameAndBookingDateBetween(airlineName, start, end))
-            .thenReturn(bookings);
+        // Two bookings on one flight: 299.99 + 399.99
+        when(bookingRepository.summarizeAirlineRevenue(airlineName, start, end))
+            .thenReturn(Arrays.asList(revenue(airlineName, 1, 2, "699.98")));
 
         // Act
         List<ReportDTO> result = reportService.revenueByAirline(airlineName, start, end);
@@ -363,7 +433,42 @@ class ReportServiceTest {
         assertEquals(1, result.size());
         assertEquals(airlineName, result.get(0).getAirlineName());
         assertEquals(1, result.get(0).getTicketsSold()); // unique flights
-        assertEquals(new BigDecimal("699.98"), result.get(0).getTotalRevenue()); // 299.99 + 399.99
+        assertEquals(new BigDecimal("699.98"), result.get(0).getTotalRevenue());
         assertEquals(new BigDecimal("349.99"), result.get(0).getAveragePrice()); // (699.98 / 2)
     }
-} 
\ No newline at end of file
+
+    private static AirlineRevenueView revenue(String airline, long flights, long bookings, String revenue) {
+        return new AirlineRevenueView() {
+            public String getAirlineName() { return airline; }
+            public Long getFlights() { return flights; }
+            public Long getBookings() { return bookings; }
+            public BigDecimal getRevenue() { return new BigDecimal(revenue); }
+        };
+    }
+
+    private static AirlineCapacityView capacity(String airline, long flights, long totalSeats, long bookedSeats,
+            String priceTotal) {
+        return new AirlineCapacityView() {
+            public String getAirlineName() { return airline; }
+            public Long getFlights() { return flights; }
+            public Long getTotalSeats() { return totalSeats; }
+            public Long getBookedSeats() { return bookedSeats; }
+            public BigDecimal getPriceTotal() { return new BigDecimal(priceTotal); }
+        };
+    }
+
+    private static FlightCapacityView capacity(long flights, long totalSeats, long bookedSeats) {
+        return new FlightCapacityView() {
+            public Long getFlights() { return flights; }
+            public Long getTotalSeats() { return totalSeats; }
+            public Long getBookedSeats() { return bookedSeats; }
+        };
+    }
+
+    private static BookingTotalsView totals(long bookings, String revenue) {
+        return new BookingTotalsView() {
+            public Long getBookings() { return bookings; }
+            public BigDecimal getRevenue() { return new BigDecimal(revenue); }
+        };
+    }
+}
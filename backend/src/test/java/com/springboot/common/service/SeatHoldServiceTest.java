@@ -0,0 +1,155 @@
+package com.springboot.common.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.springboot.common.dto.BookingDTO;
+import com.springboot.common.dto.ConfirmHoldRequestDTO;
+import com.springboot.common.dto.HoldDTO;
+import com.springboot.common.dto.HoldRequestDTO;
+import com.springboot.common.model.Customer;
+import com.springboot.common.model.Flight;
+import com.springboot.common.repository.BookingRepository;
+import com.springboot.common.repository.CustomerRepository;
+import com.springboot.common.repository.FlightRepository;
+import com.springboot.common.repository.FlightSeatsView;
+
+@ExtendWith(MockitoExtension.class)
+class SeatHoldServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SeatInventory seatInventory;
+    private SeatHoldServiceImpl holdService;
+
+    @BeforeEach
+    void setUp() {
+        seatInventory = new SeatInventory(flightRepository);
+        seatInventory.load();
+        seatInventory.register(1L, 10, 0);
+        holdService = new SeatHoldServiceImpl(bookingRepository, flightRepository, customerRepository,
+                seatInventory, new BookingRollupStore(bookingRepository, flightRepository, transactionManager), 60, 900, 9);
+    }
+
+    @AfterEach
+    void tearDown() {
+        holdService.shutdown();
+    }
+
+    @Test
+    void testPlaceHold_TakesSeatsWithoutWriting() {
+        HoldDTO hold = holdService.placeHold(1L, holdRequest(3, null));
+
+        assertNotNull(hold.getId());
+        assertEquals(3, hold.getSeats());
+        assertEquals(7, seatInventory.available(1L));
+        assertEquals(3, holdService.heldSeats(1L));
+        verifyNoInteractions(bookingRepository);
+        verify(flightRepository, never()).claimSeats(anyLong(), anyInt());
+    }
+
+    @Test
+    void testPlaceHold_HeldSeatsSurviveResync() {
+        holdService.placeHold(1L, holdRequest(3, null));
+        FlightSeatsView unbooked = new FlightSeatsView() {
+            public Long getId() { return 1L; }
+            public int getTotalSeats() { return 10; }
+            public int getBookedSeats() { return 0; }
+        };
+        when(flightRepository.findSeatCountsById(1L)).thenReturn(Optional.of(unbooked));
+
+        seatInventory.resync(1L);
+
+        assertEquals(7, seatInventory.available(1L));
+    }
+
+    @Test
+    void testPlaceHold_SoldOutAndUnknownFlight() {
+        holdService.placeHold(1L, holdRequest(9, null));
+
+        assertThrows(RuntimeException.class, () -> holdService.placeHold(1L, holdRequest(2, null)));
+        assertThrows(RuntimeException.class, () -> holdService.placeHold(2L, holdRequest(1, null)));
+        assertThrows(RuntimeException.class, () -> holdService.placeHold(1L, holdRequest(10, null)));
+
+        assertEquals(1, seatInventory.available(1L));
+    }
+
+    @Test
+    void testConfirmHold_CreatesBookings() {
+        Customer customer = new Customer("John Doe", "john.doe@email.com");
+        customer.setId(5L);
+        Flight flight = new Flight();
+        flight.setId(1L);
+        when(customerRepository.findById(5L)).thenReturn(Optional.of(customer));
+        when(flightRepository.claimSeats(1L, 2)).thenReturn(1);
+        when(flightRepository.getReferenceById(1L)).thenReturn(flight);
+        when(bookingRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        HoldDTO hold = holdService.placeHold(1L, holdRequest(2, null));
+
+        ConfirmHoldRequestDTO confirm = new ConfirmHoldRequestDTO();
+        confirm.setCustomerId(5L);
+        confirm.setPrice(new BigDecimal("199.99"));
+        List<BookingDTO> bookings = holdService.confirmHold(1L, hold.getId(), confirm);
+
+        assertEquals(2, bookings.size());
+        assertEquals(5L, bookings.get(0).getCustomerId());
+        assertEquals(8, seatInventory.available(1L));
+        assertEquals(0, holdService.heldSeats(1L));
+        assertThrows(RuntimeException.class, () -> holdService.confirmHold(1L, hold.getId(), confirm));
+    }
+
+    @Test
+    void testReleaseHold_ReturnsSeats() {
+        HoldDTO hold = holdService.placeHold(1L, holdRequest(4, null));
+
+        holdService.releaseHold(1L, hold.getId());
+
+        assertEquals(10, seatInventory.available(1L));
+        assertEquals(0, holdService.heldSeats(1L));
+        assertThrows(RuntimeException.class, () -> holdService.releaseHold(1L, hold.getId()));
+    }
+
+    @Test
+    void testHold_ExpiresAfterTtl() throws InterruptedException {
+        holdService.placeHold(1L, holdRequest(2, 1));
+        assertEquals(8, seatInventory.available(1L));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (seatInventory.available(1L) != 10 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertEquals(10, seatInventory.available(1L));
+        assertEquals(0, holdService.heldSeats(1L));
+    }
+
+    private static HoldRequestDTO holdRequest(Integer seats, Integer ttlSeconds) {
+        HoldRequestDTO req = new HoldRequestDTO();
+        req.setSeats(seats);
+        req.setTtlSeconds(ttlSeconds);
+        return req;
+    }
+}
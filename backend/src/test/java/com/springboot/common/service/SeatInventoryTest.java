@@ -0,0 +1,187 @@
+package com.springboot.common.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.springboot.common.model.Flight;
+import com.springboot.common.repository.FlightRepository;
+import com.springboot.common.repository.FlightSeatsView;
+
+@ExtendWith(MockitoExtension.class)
+class SeatInventoryTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    private SeatInventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        inventory = new SeatInventory(flightRepository);
+    }
+
+    @Test
+    void testLoad_ReadsCountersFromRepository() {
+        when(flightRepository.findAllSeatCounts()).thenReturn(List.of(seats(1L, 150, 10), seats(2L, 100, 100)));
+
+        assertEquals(140, inventory.available(1L));
+        assertEquals(0, inventory.available(2L));
+        assertEquals(SeatInventory.UNKNOWN_FLIGHT, inventory.available(3L));
+        verify(flightRepository, times(1)).findAllSeatCounts();
+    }
+
+    @Test
+    void testChangeListener_SeesEverySeatChange() {
+        List<Long> changed = new ArrayList<>();
+        inventory.register(1L, 2, 0);
+        inventory.addChangeListener(changed::add);
+
+        inventory.reserve(1L);
+        inventory.reserve(2L);
+        inventory.release(1L);
+        inventory.updateCapacity(1L, 5);
+
+        assertEquals(List.of(1L, 1L, 1L), changed);
+    }
+
+    @Test
+    void testReserve_SoldOutAndUnknownFlight() {
+        inventory.register(1L, 1, 0);
+
+        assertEquals(SeatInventory.Outcome.RESERVED, inventory.reserve(1L));
+        assertEquals(SeatInventory.Outcome.SOLD_OUT, inventory.reserve(1L));
+        assertEquals(SeatInventory.Outcome.NOT_FOUND, inventory.reserve(2L));
+    }
+
+    @Test
+    void testReserve_ConcurrentClaimsNeverOversell() throws Exception {
+        inventory.register(1L, 500, 0);
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger reserved = new AtomicInteger();
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 200; i++) {
+                    if (inventory.reserve(1L) == SeatInventory.Outcome.RESERVED) {
+                        reserved.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(500, reserved.get());
+        assertEquals(0, inventory.available(1L));
+    }
+
+    @Test
+    void testRelease_NeverExceedsCapacity() {
+        inventory.register(1L, 2, 1);
+
+        inventory.release(1L);
+        inventory.release(1L);
+
+        assertEquals(2, inventory.available(1L));
+    }
+
+    @Test
+    void testResync_ReadsFlightFromRepository() {
+        inventory.register(1L, 150, 0);
+        when(flightRepository.findSeatCountsById(1L)).thenReturn(Optional.of(seats(1L, 150, 150)));
+
+        inventory.resync(1L);
+
+        assertEquals(0, inventory.available(1L));
+    }
+
+    @Test
+    void testResync_KeepsHeldSeatsTaken() {
+        inventory.register(1L, 150, 0);
+        inventory.setHeldSeats(flightId -> flightId == 1L ? 4 : 0);
+        when(flightRepository.findSeatCountsById(1L)).thenReturn(Optional.of(seats(1L, 150, 140)));
+
+        inventory.resync(1L);
+
+        assertEquals(6, inventory.available(1L));
+    }
+
+    @Test
+    void testUpdateCapacity_KeepsSoldSeats() {
+        inventory.register(1L, 100, 40);
+
+        inventory.updateCapacity(1L, 120);
+
+        assertEquals(80, inventory.available(1L));
+    }
+
+    @Test
+    void testUpdateCapacity_NeverLeavesRemainingNegative() {
+        inventory.register(1L, 100, 40);
+
+        inventory.updateCapacity(1L, 30);
+
+        assertEquals(0, inventory.available(1L));
+    }
+
+    @Test
+    void testRegisterAll_AddsNewFlightsAndUpdatesKnownOnes() {
+        inventory.register(1L, 100, 0);
+        List<Long> changed = new ArrayList<>();
+        inventory.addChangeListener(changed::add);
+
+        inventory.registerAll(List.of(flight(1L, 120, 20), flight(2L, 80, 0), flight(3L, 50, 50)));
+
+        assertEquals(100, inventory.available(1L));
+        assertEquals(80, inventory.available(2L));
+        assertEquals(0, inventory.available(3L));
+        assertEquals(List.of(1L, 2L, 3L), changed);
+    }
+
+    @Test
+    void testRemove_FlightBecomesUnknown() {
+        inventory.register(1L, 100, 0);
+        inventory.register(2L, 100, 0);
+
+        inventory.remove(1L);
+
+        assertEquals(SeatInventory.Outcome.NOT_FOUND, inventory.reserve(1L));
+        assertEquals(100, inventory.available(2L));
+    }
+
+    private static Flight flight(Long id, int total, int booked) {
+        Flight f = new Flight("Test Airlines", total, LocalDate.of(2025, 8, 15), new BigDecimal("99.00"));
+        f.setId(id);
+        f.setBookedSeats(booked);
+        return f;
+    }
+
+    private static FlightSeatsView seats(Long id, int total, int booked) {
+        return new FlightSeatsView() {
+            public Long getId() { return id; }
+            public int getTotalSeats() { return total; }
+            public int getBookedSeats() { return booked; }
+        };
+    }
+}
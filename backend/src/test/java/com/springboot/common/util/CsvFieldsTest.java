@@ -0,0 +1,31 @@
+package com.springboot.common.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class CsvFieldsTest {
+
+    @Test
+    void testPlainAndQuotedFields() {
+        assertEquals(List.of("a", "b c", ""), CsvFields.split("a,b c,"));
+        assertEquals(List.of("Lee, Ann", "say \"hi\""), CsvFields.split("\"Lee, Ann\",\"say \"\"hi\"\"\""));
+    }
+
+    @Test
+    void testUnterminatedQuoteIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> CsvFields.split("\"open,field"));
+    }
+
+    @Test
+    void testColumnsAreFoundByNameIgnoringCase() {
+        Map<String, Integer> columns = CsvFields.columns("Email, NAME ,phone", "name", "email");
+        List<String> fields = CsvFields.split("ann@email.com,Ann");
+        assertEquals("Ann", CsvFields.field(fields, columns, "name"));
+        assertNull(CsvFields.field(fields, columns, "phone"));
+        assertThrows(RuntimeException.class, () -> CsvFields.columns("name,phone", "name", "email"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.springboot.common.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class ExpiringLruCacheTest {
+
+    @Test
+    void testEntriesExpireAfterTtl() {
+        AtomicLong clock = new AtomicLong();
+        AtomicInteger loads = new AtomicInteger();
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(10, 10, TimeUnit.NANOSECONDS, clock::get);
+
+        assertEquals(1, cache.get("a", loads::incrementAndGet));
+        clock.set(9);
+        assertEquals(1, cache.get("a", loads::incrementAndGet));
+        clock.set(10);
+        assertEquals(2, cache.get("a", loads::incrementAndGet));
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(2, 1, TimeUnit.HOURS);
+        cache.get("a", () -> "a1");
+        cache.get("b", () -> "b1");
+        cache.get("a", () -> "a2");
+        cache.get("c", () -> "c1");
+
+        assertEquals(2, cache.size());
+        assertEquals("a1", cache.get("a", () -> "a3"));
+        assertEquals("b2", cache.get("b", () -> "b2"));
+    }
+
+    @Test
+    void testInvalidateIfDropsMatchingKeysOnly() {
+        ExpiringLruCache<Integer, String> cache = new ExpiringLruCache<>(10, 1, TimeUnit.HOURS);
+        cache.get(1, () -> "one");
+        cache.get(2, () -> "two");
+
+        cache.invalidateIf(k -> k == 1);
+
+        assertEquals("uno", cache.get(1, () -> "uno"));
+        assertEquals("two", cache.get(2, () -> "dos"));
+    }
+
+    @Test
+    void testInvalidateDropsOneKey() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, 1, TimeUnit.HOURS);
+        cache.get("a", () -> "a1");
+        cache.get("b", () -> "b1");
+
+        cache.invalidate("a");
+
+        assertEquals("a2", cache.get("a", () -> "a2"));
+        assertEquals("b1", cache.get("b", () -> "b2"));
+    }
+
+    @Test
+    void testLoadRacingAnInvalidationIsNotStored() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, 1, TimeUnit.HOURS);
+
+        String loaded = cache.get("a", () -> {
+            cache.invalidateAll();
+            return "stale";
+        });
+
+        assertEquals("stale", loaded);
+        assertEquals("fresh", cache.get("a", () -> "fresh"));
+    }
+}
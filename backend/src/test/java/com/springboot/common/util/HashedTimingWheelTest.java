@@ -0,0 +1,46 @@
+package com.springboot.common.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class HashedTimingWheelTest {
+
+    @Test
+    void testScheduledTasksFireAndCancelledTasksDoNot() throws InterruptedException {
+        try (HashedTimingWheel wheel = new HashedTimingWheel("test-wheel", 10, TimeUnit.MILLISECONDS, 8)) {
+            CountDownLatch fired = new CountDownLatch(2);
+            AtomicInteger cancelledRuns = new AtomicInteger();
+
+            wheel.schedule(fired::countDown, 20, TimeUnit.MILLISECONDS);
+            // Longer than one revolution of the wheel
+            wheel.schedule(fired::countDown, 200, TimeUnit.MILLISECONDS);
+            HashedTimingWheel.Timeout cancelled = wheel.schedule(cancelledRuns::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+            assertTrue(cancelled.cancel());
+
+            assertTrue(fired.await(2, TimeUnit.SECONDS));
+            assertEquals(0, cancelledRuns.get());
+            assertFalse(cancelled.cancel());
+        }
+    }
+
+    @Test
+    void testTaskDoesNotFireEarly() throws InterruptedException {
+        try (HashedTimingWheel wheel = new HashedTimingWheel("test-wheel", 10, TimeUnit.MILLISECONDS, 4)) {
+            long start = System.nanoTime();
+            CountDownLatch fired = new CountDownLatch(1);
+            long[] firedAfter = new long[1];
+            wheel.schedule(() -> {
+                firedAfter[0] = System.nanoTime() - start;
+                fired.countDown();
+            }, 150, TimeUnit.MILLISECONDS);
+
+            assertTrue(fired.await(2, TimeUnit.SECONDS));
+            assertTrue(firedAfter[0] >= TimeUnit.MILLISECONDS.toNanos(150));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.springboot.common.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.springboot.common.dto.PageDTO;
+
+class KeysetCursorTest {
+
+    @Test
+    void testCursorRoundTrip() {
+        assertEquals(0L, KeysetCursor.decode(null));
+        assertEquals(42L, KeysetCursor.decode(KeysetCursor.encode(42L)));
+    }
+
+    @Test
+    void testInvalidCursorIsRejected() {
+        assertThrows(RuntimeException.class, () -> KeysetCursor.decode("not a cursor"));
+        assertThrows(RuntimeException.class, () -> KeysetCursor.decode(KeysetCursor.encode(1L) + "x"));
+    }
+
+    @Test
+    void testPageSizeIsCapped() {
+        assertEquals(KeysetCursor.DEFAULT_PAGE_SIZE, KeysetCursor.pageSize(null));
+        assertEquals(7, KeysetCursor.pageSize(7));
+        assertEquals(KeysetCursor.MAX_PAGE_SIZE, KeysetCursor.pageSize(KeysetCursor.MAX_PAGE_SIZE + 1));
+        assertThrows(RuntimeException.class, () -> KeysetCursor.pageSize(0));
+    }
+
+    @Test
+    void testNextCursorOnlyWhenMoreRowsFollow() {
+        PageDTO<Long> last = KeysetCursor.page(List.of(3L, 5L), 2, Long::longValue);
+        assertEquals(List.of(3L, 5L), last.getItems());
+        assertNull(last.getNextCursor());
+
+        PageDTO<Long> more = KeysetCursor.page(List.of(3L, 5L, 9L), 2, Long::longValue);
+        assertEquals(List.of(3L, 5L), more.getItems());
+        assertEquals(5L, KeysetCursor.decode(more.getNextCursor()));
+    }
+}
@@ -0,0 +1,65 @@
+package com.springboot.common.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LongIntHashMapTest {
+
+    @Test
+    void testPutGetRemove() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.put(1L, 10);
+        map.put(0L, 5);
+        map.put(-7L, 3);
+
+        assertEquals(10, map.get(1L, -1));
+        assertEquals(5, map.get(0L, -1));
+        assertEquals(3, map.get(-7L, -1));
+        assertEquals(-1, map.get(2L, -1));
+        assertEquals(3, map.size());
+
+        assertTrue(map.remove(0L));
+        assertTrue(map.remove(1L));
+        assertFalse(map.remove(1L));
+        assertEquals(1, map.size());
+        assertEquals(-1, map.get(1L, -1));
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.put(42L, 1);
+        LongIntHashMap copy = map.copy();
+        copy.put(42L, 2);
+        copy.put(43L, 3);
+
+        assertEquals(1, map.get(42L, -1));
+        assertFalse(map.containsKey(43L));
+        assertEquals(2, copy.get(42L, -1));
+    }
+
+    @Test
+    void testRandomOperationsMatchHashMap() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                int value = random.nextInt();
+                expected.put(key, value);
+                map.put(key, value);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        expected.forEach((k, v) -> assertEquals(v.intValue(), map.get(k, -1)));
+        map.forEach((k, v) -> assertEquals(expected.get(k).intValue(), v));
+    }
+}
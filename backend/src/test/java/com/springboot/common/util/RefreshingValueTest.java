@@ -0,0 +1,62 @@
+package com.springboot.common.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class RefreshingValueTest {
+
+    @Test
+    void testValueIsReusedUntilStale() {
+        AtomicLong clock = new AtomicLong();
+        AtomicInteger loads = new AtomicInteger();
+        RefreshingValue<Integer> value = new RefreshingValue<>(loads::incrementAndGet, 10, TimeUnit.NANOSECONDS, clock::get);
+
+        assertEquals(1, value.get());
+        clock.set(9);
+        assertEquals(1, value.get());
+        clock.set(10);
+        assertEquals(2, value.get());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testConcurrentCallersGetStaleValueDuringRefresh() throws InterruptedException {
+        AtomicLong clock = new AtomicLong();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch refreshStarted = new CountDownLatch(1);
+        CountDownLatch finishRefresh = new CountDownLatch(1);
+        RefreshingValue<Integer> value = new RefreshingValue<>(() -> {
+            int n = loads.incrementAndGet();
+            if (n == 2) {
+                refreshStarted.countDown();
+                try {
+                    finishRefresh.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return n;
+        }, 10, TimeUnit.NANOSECONDS, clock::get);
+        assertEquals(1, value.get());
+        clock.set(100);
+
+        Thread refresher = new Thread(value::get);
+        refresher.start();
+        assertTrue(refreshStarted.await(2, TimeUnit.SECONDS));
+
+        // The refresh is still running; everyone else is served the previous value without loading
+        assertEquals(1, value.get());
+        assertEquals(1, value.get());
+        finishRefresh.countDown();
+        refresher.join(2000);
+
+        assertEquals(2, value.get());
+        assertEquals(2, loads.get());
+    }
+}
@@ -4,6 +4,7 @@ import { Observable, catchError, throwError } from 'rxjs';
 import { Booking, BookingRequest } from '../models/booking.model';
 import { FlightService } from './flight.service';
 import { environment } from '../../environments/environment.prod';
+import { getAllPages } from './keyset-pages';
 
 @Injectable({
   providedIn: 'root'
@@ -18,7 +19,7 @@ export class BookingService {
 
   loadAllBookings(): Observable<Booking[]> {
     console.log('Loading all bookings...');
-    return this.http.get<Booking[]>(this.baseUrl).pipe(
+    return getAllPages<Booking>(this.http, this.baseUrl).pipe(
       catchError(error => {
         console.error('Error loading bookings:', error);
         return throwError(() => new Error('Failed to load bookings'));
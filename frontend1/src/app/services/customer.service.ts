@@ -3,6 +3,7 @@ import { HttpClient } from '@angular/common/http';
 import { Observable, catchError, throwError } from 'rxjs';
 import { Customer } from '../models/customer.model';
 import { environment } from '../../environments/environment.prod';
+import { getAllPages } from './keyset-pages';
 
 @Injectable({
   providedIn: 'root'
@@ -14,7 +15,7 @@ export class CustomerService {
 
   loadAllCustomers(): Observable<Customer[]> {
     console.log('Loading all customers...');
-    return this.http.get<Customer[]>(this.baseUrl).pipe(
+    return getAllPages<Customer>(this.http, this.baseUrl).pipe(
       catchError(error => {
         console.error('Error loading customers:', error);
         return throwError(() => new Error('Failed to load customers'));
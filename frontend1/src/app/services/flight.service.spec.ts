@@ -47,6 +47,18 @@ describe('FlightService', () => {
       req.flush(mockFlights);
     });
 
+    it('should follow the next-page cursor until the last page', () => {
+      const secondFlight: Flight = { ...mockFlight, id: 2 };
+
+      service.loadAllFlights().subscribe(flights => {
+        expect(flights).toEqual([mockFlight, secondFlight]);
+      });
+
+      httpMock.expectOne(`${environment.apiUrl}/flights`)
+        .flush([mockFlight], { headers: { 'X-Next-Cursor': 'abc' } });
+      httpMock.expectOne(`${environment.apiUrl}/flights?after=abc`).flush([secondFlight]);
+    });
+
     it('should handle error when API fails', () => {
       service.loadAllFlights().subscribe({
         next: () => fail('should have failed'),
@@ -3,6 +3,7 @@ import { HttpClient } from '@angular/common/http';
 import { Observable, catchError, throwError } from 'rxjs';
 import { Flight } from '../models/flight.model';
 import { environment } from '../../environments/environment.prod';
+import { getAllPages } from './keyset-pages';
 
 @Injectable({
   providedIn: 'root'
@@ -14,7 +15,7 @@ export class FlightService {
 
   loadAllFlights(): Observable<Flight[]> {
     console.log('Loading all flights...');
-    return this.http.get<Flight[]>(this.baseUrl).pipe(
+    return getAllPages<Flight>(this.http, this.baseUrl).pipe(
       catchError(error => {
         console.error('Error loading flights:', error);
         return throwError(() => new Error('Failed to load flights'));
@@ -0,0 +1,21 @@
+import { HttpClient } from '@angular/common/http';
+import { EMPTY, Observable, expand, reduce } from 'rxjs';
+
+export const NEXT_CURSOR_HEADER = 'X-Next-Cursor';
+
+/**
+ * Loads every page of a keyset-paginated list endpoint. The backend returns one page per request
+ * and sends the cursor for the next page in the X-Next-Cursor header, omitting it on the last page.
+ */
+export function getAllPages<T>(http: HttpClient, url: string): Observable<T[]> {
+  const page = (after?: string) =>
+    http.get<T[]>(url, { observe: 'response', params: after ? { after } : {} });
+
+  return page().pipe(
+    expand(response => {
+      const next = response.headers.get(NEXT_CURSOR_HEADER);
+      return next ? page(next) : EMPTY;
+    }),
+    reduce((all, response) => all.concat(response.body ?? []), [] as T[])
+  );
+}